@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# Folds the test history written by each CI shard back into the history they all started from.
+# A shard only changes the entries of the tests it ran, so an entry that differs from the base
+# is taken from the shard that changed it.
+# Usage: scripts/merge-test-history.sh [base directory] [shard directories...]
+
+BASE="$1"
+shift
+
+for FILE in test-durations.json flake-history.json test-impact.json; do
+  SHARD_FILES=()
+  for SHARD in "$@"; do
+    if [ -f "$SHARD/$FILE" ]; then
+      SHARD_FILES+=("$SHARD/$FILE")
+    fi
+  done
+  if [ ${#SHARD_FILES[@]} -eq 0 ]; then
+    continue
+  fi
+  if [ ! -f "$BASE/$FILE" ]; then
+    echo '{}' > "$BASE/$FILE"
+  fi
+  jq -s '.[0] as $base
+         | reduce .[1:][] as $shard ($base;
+             reduce ($shard | to_entries[]) as $entry (.;
+               if $base[$entry.key] != $entry.value then .[$entry.key] = $entry.value else . end))' \
+    "$BASE/$FILE" "${SHARD_FILES[@]}" > "$BASE/$FILE.merged" || exit 1
+  mv "$BASE/$FILE.merged" "$BASE/$FILE"
+  echo "Merged $FILE from ${#SHARD_FILES[@]} shard(s)"
+done
@@ -0,0 +1,39 @@
+#!/bin/bash
+
+# Runs the test suite as N shards, each in its own JVM, side by side on this machine.
+# Shards are balanced using the test durations of earlier runs (target/test-durations.json).
+# Usage: scripts/run-shards.sh [number-of-shards] [extra maven options...]
+
+SHARDS="${1:-4}"
+shift
+EXTRA_OPTIONS=("$@")
+
+mvn -B -q test-compile "${EXTRA_OPTIONS[@]}" || exit 1
+
+# Every shard plans from the same copy of the durations, so a shard that finishes early can't change the split
+DURATIONS="target/test-durations.json"
+PLAN="target/test-durations.plan.json"
+if [ -f "$DURATIONS" ]; then
+  cp "$DURATIONS" "$PLAN"
+else
+  echo '{}' > "$PLAN"
+fi
+
+PIDS=()
+for SHARD in $(seq 1 "$SHARDS"); do
+  mvn -B surefire:test -Dtest.shard="$SHARD/$SHARDS" -Dtest.shard.plan="$PLAN" "${EXTRA_OPTIONS[@]}" \
+    > "target/shard-$SHARD.log" 2>&1 &
+  PIDS+=($!)
+done
+
+STATUS=0
+for INDEX in "${!PIDS[@]}"; do
+  SHARD=$((INDEX + 1))
+  if wait "${PIDS[$INDEX]}"; then
+    echo "Shard $SHARD/$SHARDS passed ($(grep -m1 'Test shard' "target/shard-$SHARD.log"))"
+  else
+    echo "Shard $SHARD/$SHARDS FAILED - see target/shard-$SHARD.log"
+    STATUS=1
+  fi
+done
+exit $STATUS
@@ -0,0 +1,93 @@
+package com.serenitydojo.playwright.benchmarks;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.serenitydojo.playwright.LaunchProfile;
+import com.serenitydojo.playwright.stub.ToolshopStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What each way of setting up a test costs: a new Playwright and Browser per test (ASimplePlaywrightTest),
+ * a new BrowserContext per test on a shared browser (@UseSharedBrowser), a new Page, and a navigation
+ * to the local stub server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BrowserLifecycleBenchmark {
+
+    private ToolshopStubServer stub;
+    private Playwright playwright;
+    private Browser browser;
+    private BrowserContext context;
+    private Page page;
+
+    @Setup(Level.Trial)
+    public void startBrowser() {
+        stub = ToolshopStubServer.start(0);
+        playwright = Playwright.create();
+        playwright.selectors().setTestIdAttribute("data-test");
+        browser = playwright.chromium().launch(LaunchProfile.current().launchOptions());
+        context = browser.newContext();
+        page = context.newPage();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBrowser() {
+        playwright.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public void newPlaywrightAndBrowser() {
+        try (Playwright perTest = Playwright.create()) {
+            perTest.chromium().launch(LaunchProfile.current().launchOptions()).close();
+        }
+    }
+
+    @Benchmark
+    public void launchBrowser() {
+        playwright.chromium().launch(LaunchProfile.current().launchOptions()).close();
+    }
+
+    @Benchmark
+    public void newContext() {
+        browser.newContext().close();
+    }
+
+    @Benchmark
+    public void newContextAndPage() {
+        try (BrowserContext perTest = browser.newContext()) {
+            perTest.newPage();
+        }
+    }
+
+    @Benchmark
+    public void newPage() {
+        context.newPage().close();
+    }
+
+    @Benchmark
+    public void navigateToStubCatalogue() {
+        page.navigate(stub.baseUrl() + "/");
+        page.getByTestId("product-name").first().waitFor();
+    }
+}
@@ -0,0 +1,85 @@
+package com.serenitydojo.playwright.benchmarks;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.options.AriaRole;
+import com.serenitydojo.playwright.LaunchProfile;
+import com.serenitydojo.playwright.stub.ToolshopStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the same elements of the stub catalogue page with role, CSS and test id locators.
+ * Locators are lazy, so each benchmark performs a read that makes the browser resolve them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LocatorBenchmark {
+
+    private ToolshopStubServer stub;
+    private Playwright playwright;
+    private Page page;
+
+    @Setup(Level.Trial)
+    public void openCatalogue() {
+        stub = ToolshopStubServer.start(0);
+        playwright = Playwright.create();
+        playwright.selectors().setTestIdAttribute("data-test");
+        page = playwright.chromium().launch(LaunchProfile.current().launchOptions()).newPage();
+        page.navigate(stub.baseUrl() + "/");
+        page.getByTestId("product-name").first().waitFor();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+        playwright.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public boolean buttonByRole() {
+        return page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")).isVisible();
+    }
+
+    @Benchmark
+    public boolean buttonByCss() {
+        return page.locator("button[type=submit]").isVisible();
+    }
+
+    @Benchmark
+    public boolean buttonByTestId() {
+        return page.getByTestId("search-submit").isVisible();
+    }
+
+    @Benchmark
+    public List<String> productNamesByRole() {
+        return page.getByRole(AriaRole.HEADING, new Page.GetByRoleOptions().setLevel(5)).allTextContents();
+    }
+
+    @Benchmark
+    public List<String> productNamesByCss() {
+        return page.locator(".card-title").allTextContents();
+    }
+
+    @Benchmark
+    public List<String> productNamesByTestId() {
+        return page.getByTestId("product-name").allTextContents();
+    }
+}
@@ -0,0 +1,78 @@
+package com.serenitydojo.playwright.benchmarks;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Route;
+import com.serenitydojo.playwright.LaunchProfile;
+import com.serenitydojo.playwright.MockSearchResponses;
+import com.serenitydojo.playwright.stub.ToolshopStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overhead of intercepting an API call, as PlaywrightRestAPITest does with page.route():
+ * the same fetch from the page is sent straight to the stub, fulfilled by a route handler in the JVM,
+ * or intercepted and then passed on to the stub.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RouteFulfillBenchmark {
+
+    public enum Routing { NONE, FULFILL, RESUME }
+
+    private static final String FETCH_SEARCH = "url => fetch(url).then(response => response.text()).then(body => body.length)";
+
+    @Param({"NONE", "FULFILL", "RESUME"})
+    public Routing routing;
+
+    private ToolshopStubServer stub;
+    private Playwright playwright;
+    private Page page;
+    private String searchUrl;
+
+    @Setup(Level.Trial)
+    public void openPage() {
+        stub = ToolshopStubServer.start(0);
+        playwright = Playwright.create();
+        page = playwright.chromium().launch(LaunchProfile.current().launchOptions()).newPage();
+        page.navigate(stub.baseUrl() + "/contact");
+        searchUrl = stub.apiUrl() + "/products/search?q=pliers";
+
+        switch (routing) {
+            case FULFILL -> page.route("**/products/search?q=pliers", route -> route.fulfill(new Route.FulfillOptions()
+                    .setStatus(200)
+                    .setContentType("application/json")
+                    .setBody(MockSearchResponses.RESPONSE_WITH_A_SINGLE_ENTRY)));
+            case RESUME -> page.route("**/products/search?q=pliers", Route::resume);
+            case NONE -> { }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+        playwright.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public Object searchRequest() {
+        return page.evaluate(FETCH_SEARCH, searchUrl);
+    }
+}
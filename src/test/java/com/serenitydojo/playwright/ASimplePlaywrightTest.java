@@ -1,41 +1,22 @@
 package com.serenitydojo.playwright;
 
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
-import java.util.Arrays;
 
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
 
+@UseSharedBrowser
 public class ASimplePlaywrightTest {
-    Playwright playwright;
-    Browser browser;
     Page page;
 
     @BeforeEach
-    void setup() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-            new BrowserType.LaunchOptions()
-            .setHeadless(false)
-            .setArgs(Arrays.asList("--no-sandbox","--disable-extensions","--disable-gpu"))
-        );
-        page = browser.newPage();
+    void setup(Page page) {
+        this.page = page;
     }
 
-    @AfterEach
-    void teardown() {
-        browser.close();
-        playwright.close();
-    }
-
-    @Test
+    @CrossBrowserTest
     void shouldShowThePageTitle() {
-        page.navigate("https://practicesoftwaretesting.com");
+        page.navigate("/");
         String title = page.title();
 
         Assertions.assertTrue(title.contains("Practice Software Testing"));
@@ -43,9 +24,9 @@ public class ASimplePlaywrightTest {
     }
 
 
-    @Test
+    @CrossBrowserTest
     void shouldSearchByKeyword() {
-        page.navigate("https://practicesoftwaretesting.com");
+        page.navigate("/");
         page.locator("[placeholder=Search]").fill("Pliers");
         page.locator("button:has-text('Search')").click();
 
@@ -1,70 +1,43 @@
 package com.serenitydojo.playwright;
 
 import com.microsoft.playwright.*;
-import com.microsoft.playwright.options.AriaRole;
+import com.serenitydojo.playwright.pages.HomePage;
+import com.serenitydojo.playwright.pages.ProductGridSnapshot;
+import com.serenitydojo.playwright.pages.SearchResults;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
 
-import java.util.Arrays;
 import java.util.List;
 
+@UseSharedBrowser
 public class AddingItemsToTheCartTest {
 
-    protected static Playwright playwright;
-    protected static Browser browser;
-    protected static BrowserContext browserContext;
-
-Page page;
-
-    @BeforeAll
-    static void setUpBrowser() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions()
-                        .setHeadless(false)
-                        .setArgs(Arrays.asList("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-        );
-        playwright.selectors().setTestIdAttribute("data-test");
-    }
+    HomePage homePage;
 
     @BeforeEach
-    void setUp() {
-        browserContext = browser.newContext();
-        page = browserContext.newPage();
-        page.setViewportSize(1920, 1080);
-        page.navigate("https://practicesoftwaretesting.com/");
-    }
-
-    @AfterEach
-    void closeContext() {
-        browserContext.close();
-    }
-
-    @AfterAll
-    static void tearDown() {
-        browser.close();
-        playwright.close();
+    void setUp(Page page) {
+        homePage = new HomePage(page).open();
     }
 
     @DisplayName("Search for Pliers")
-    @Test
+    @CrossBrowserTest
     void searchForPliers(){
-        page.getByPlaceholder("Search").fill("Pliers");
-        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")).click();
+        SearchResults results = homePage.searchFor("Pliers");
 
-        List<String> products = page.getByTestId("product-name").allTextContents();
+        // One round trip to the browser for everything the assertions below need
+        ProductGridSnapshot grid = results.snapshot();
+
+        List<String> products = grid.names();
         Assertions.assertThat(products.get(0)).containsIgnoringCase("Pliers");
 
-        int cardCount = page.locator(".card").count();
+        int cardCount = grid.count();
         Assertions.assertThat(cardCount).isEqualTo(9);
 
         
-        List<String> productNames = page.getByTestId("product-name").allTextContents();
+        List<String> productNames = grid.names();
         Assertions.assertThat(productNames).allMatch(name -> name.contains("Pliers"));
 
-        Locator outOfStockItem = page.locator(".card")
-            .filter(new Locator.FilterOptions().setHasText("Out of stock"))
-            .getByTestId("product-name");
+        Locator outOfStockItem = results.outOfStockProductNames();
 
             
         Assertions.assertThat(outOfStockItem).isEqualTo(3);
@@ -74,4 +47,4 @@ Page page;
   
 
 
-    }
\ No newline at end of file
+    }
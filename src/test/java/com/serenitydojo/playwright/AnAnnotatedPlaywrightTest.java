@@ -1,11 +1,9 @@
 package com.serenitydojo.playwright;
 
-import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.junit.Options;
 import com.microsoft.playwright.junit.OptionsFactory;
 import com.microsoft.playwright.junit.UsePlaywright;
-import java.util.Arrays;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -16,13 +14,12 @@ public class AnAnnotatedPlaywrightTest {
 
         @Override
         public Options getOptions() {
+            LaunchProfile profile = LaunchProfile.current();
             return new Options()
-            .setHeadless(false)
-            .setLaunchOptions(
-                new BrowserType.LaunchOptions()
-                        .setArgs(Arrays.asList("--no-sandbox","--disable-extensions","--disable-gpu"))
-                        
-                );  
+            .setHeadless(profile.headless())
+            .setBaseUrl(Toolshop.baseUrl())
+            .setLaunchOptions(profile.launchOptions())
+            .setContextOptions(profile.contextOptions());
             };
             
     }
@@ -30,7 +27,7 @@ public class AnAnnotatedPlaywrightTest {
      
     @Test
     void shouldShowThePageTitle(Page page) {
-        page.navigate("https://practicesoftwaretesting.com");
+        page.navigate("/");
         String title = page.title();
 
         Assertions.assertTrue(title.contains("Practice Software Testing"));
@@ -40,7 +37,7 @@ public class AnAnnotatedPlaywrightTest {
 
     @Test
     void shouldSearchByKeyword(Page page) {
-        page.navigate("https://practicesoftwaretesting.com");
+        page.navigate("/");
         page.locator("[placeholder=Search]").fill("Pliers");
         page.locator("button:has-text('Search')").click();
 
@@ -0,0 +1,49 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+
+/**
+ * Starts the BrowserContext of tests annotated with {@link LoggedInAs} from the cached storage state of that user.
+ */
+public class AuthenticatedSessionExtension implements BeforeEachCallback, BrowserContextHook {
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        if (loggedInAs(extensionContext).isPresent()) {
+            SharedBrowserExtension.registerHook(extensionContext, this);
+        }
+    }
+
+    @Override
+    public boolean acceptsPooledContext(ExtensionContext extensionContext) {
+        // The storage state can only be given when the context is created
+        return false;
+    }
+
+    @Override
+    public void configure(Browser.NewContextOptions options, ExtensionContext extensionContext) {
+        LoggedInAs user = loggedInAs(extensionContext).orElseThrow();
+        Browser browser = SharedBrowserExtension.browserFor(extensionContext);
+        options.setStorageStatePath(SessionCache.storageStateFor(user.value(), user.loginMethod(), browser));
+    }
+
+    private static Optional<LoggedInAs> loggedInAs(ExtensionContext extensionContext) {
+        Optional<LoggedInAs> onMethod = extensionContext.getTestMethod()
+                .flatMap(method -> AnnotationSupport.findAnnotation(method, LoggedInAs.class));
+        if (onMethod.isPresent()) {
+            return onMethod;
+        }
+        for (Class<?> testClass = extensionContext.getRequiredTestClass(); testClass != null; testClass = testClass.getEnclosingClass()) {
+            Optional<LoggedInAs> onClass = AnnotationSupport.findAnnotation(testClass, LoggedInAs.class);
+            if (onClass.isPresent()) {
+                return onClass;
+            }
+        }
+        return Optional.empty();
+    }
+}
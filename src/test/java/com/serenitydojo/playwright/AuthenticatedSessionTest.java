@@ -0,0 +1,29 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+
+@UseSharedBrowser
+@BlockResources
+@LoggedInAs(UserRole.CUSTOMER)
+public class AuthenticatedSessionTest {
+
+    Page page;
+
+    @BeforeEach
+    void setUp(Page page) {
+        this.page = page;
+    }
+
+    @DisplayName("A logged in customer goes straight to their account page")
+    @Test
+    void customerCanOpenTheirAccount() {
+        page.navigate("/account");
+
+        assertThat(page.getByTestId("page-title")).hasText("My account");
+    }
+}
@@ -0,0 +1,36 @@
+package com.serenitydojo.playwright;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stops the browser from downloading resources that a test doesn't need, such as product images, fonts and analytics.
+ * Put it on a test class (nested classes inherit it), and use {@code @BlockResources(enabled = false)}
+ * on the tests that do need those resources.
+ * Only applies to tests that use {@link UseSharedBrowser}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface BlockResources {
+
+    /**
+     * Playwright resource types to block, e.g. "image", "font", "media" or "stylesheet".
+     */
+    String[] resourceTypes() default {"image", "font", "media"};
+
+    /**
+     * URL globs to block whatever their resource type.
+     */
+    String[] urlPatterns() default {
+            "**/*google-analytics.com/**",
+            "**/*googletagmanager.com/**",
+            "**/*doubleclick.net/**",
+            "**/*hotjar.com/**"
+    };
+
+    boolean enabled() default true;
+}
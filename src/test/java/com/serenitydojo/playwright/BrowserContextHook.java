@@ -0,0 +1,32 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Lets an extension take part in the life of the BrowserContext that SharedBrowserExtension creates for a test.
+ * Register a hook from a BeforeEachCallback with {@link SharedBrowserExtension#registerHook}.
+ */
+public interface BrowserContextHook {
+
+    /**
+     * Called before the context is created, for settings that can only be given at creation time.
+     */
+    default void configure(Browser.NewContextOptions options, ExtensionContext extensionContext) {
+    }
+
+    /**
+     * Whether the test may be given a context that was created ahead of time, without calling {@link #configure}.
+     * Hooks that depend on creation-time settings, or on seeing every request, should return false.
+     */
+    default boolean acceptsPooledContext(ExtensionContext extensionContext) {
+        return true;
+    }
+
+    default void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+    }
+
+    default void contextClosing(BrowserContext browserContext, ExtensionContext extensionContext) {
+    }
+}
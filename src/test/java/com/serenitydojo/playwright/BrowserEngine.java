@@ -0,0 +1,138 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.junit.Options;
+import com.microsoft.playwright.junit.OptionsFactory;
+
+import java.util.function.Consumer;
+
+/**
+ * A Playwright instance and its launched Browser, owned by a single thread.
+ * Playwright objects are not thread-safe, so an engine must only be used by the thread that launched it.
+ */
+class BrowserEngine implements AutoCloseable {
+
+    /**
+     * What an engine is launched from: the options factory of the test class, and the browser to launch
+     * in place of the factory's own, if a {@link CrossBrowserTest} asked for one.
+     */
+    record Key(Class<? extends OptionsFactory> factoryType, String browserName) {}
+
+    private final OptionsFactory optionsFactory;
+    private final Playwright playwright;
+    private final Browser browser;
+    private final String browserName;
+    private final Thread owner;
+    private final long launchMillis;
+    private final ContextPool pool;
+    private int contextsServed;
+
+    private BrowserEngine(OptionsFactory optionsFactory, Playwright playwright, Browser browser, String browserName,
+                          long launchMillis) {
+        this.optionsFactory = optionsFactory;
+        this.playwright = playwright;
+        this.browser = browser;
+        this.browserName = browserName;
+        this.owner = Thread.currentThread();
+        this.launchMillis = launchMillis;
+        this.pool = new ContextPool(this, ContextPool.Settings.fromSystemProperties());
+    }
+
+    static BrowserEngine launch(OptionsFactory optionsFactory) {
+        long start = System.nanoTime();
+        Options options = optionsFactory.getOptions();
+
+        Playwright playwright = Playwright.create(
+                options.playwrightCreateOptions != null ? options.playwrightCreateOptions : new Playwright.CreateOptions());
+        if (options.testIdAttribute != null) {
+            playwright.selectors().setTestIdAttribute(options.testIdAttribute);
+        }
+
+        BrowserType.LaunchOptions launchOptions =
+                options.launchOptions != null ? options.launchOptions : new BrowserType.LaunchOptions();
+        if (options.headless != null) {
+            launchOptions.setHeadless(options.headless);
+        }
+        if (options.channel != null) {
+            launchOptions.setChannel(options.channel);
+        }
+
+        BrowserType browserType = browserType(playwright, options.browserName);
+        Browser browser = browserType.launch(launchOptions);
+        long launchMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BrowserEngine(optionsFactory, playwright, browser, browserType.name(), launchMillis);
+    }
+
+    private static BrowserType browserType(Playwright playwright, String browserName) {
+        if (browserName == null) {
+            return playwright.chromium();
+        }
+        return switch (browserName) {
+            case "chromium" -> playwright.chromium();
+            case "firefox" -> playwright.firefox();
+            case "webkit" -> playwright.webkit();
+            default -> throw new IllegalArgumentException("Unknown browser: " + browserName);
+        };
+    }
+
+    BrowserContext newContext(Consumer<Browser.NewContextOptions> customizer) {
+        checkOwner();
+        // Ask the factory again so every context starts from its own, unshared options object
+        Options options = optionsFactory.getOptions();
+        Browser.NewContextOptions contextOptions =
+                options.contextOptions != null ? options.contextOptions : new Browser.NewContextOptions();
+        if (options.baseUrl != null) {
+            contextOptions.setBaseURL(options.baseUrl);
+        }
+        if (options.ignoreHTTPSErrors != null) {
+            contextOptions.setIgnoreHTTPSErrors(options.ignoreHTTPSErrors);
+        }
+        customizer.accept(contextOptions);
+        contextsServed++;
+        return browser.newContext(contextOptions);
+    }
+
+    Playwright playwright() {
+        checkOwner();
+        return playwright;
+    }
+
+    Browser browser() {
+        checkOwner();
+        return browser;
+    }
+
+    ContextPool pool() {
+        checkOwner();
+        return pool;
+    }
+
+    String browserName() {
+        return browserName;
+    }
+
+    long launchMillis() {
+        return launchMillis;
+    }
+
+    int contextsServed() {
+        return contextsServed;
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Browser engine owned by " + owner.getName()
+                    + " was used from " + Thread.currentThread().getName());
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+        browser.close();
+        playwright.close();
+    }
+}
@@ -0,0 +1,155 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.serenitydojo.playwright.pages.ProductGridSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the product images on every page of the catalogue, with several catalogue pages open at once.
+ * <p>
+ * Playwright objects may only be used from the thread that created them, so the pages are driven from
+ * the test's own thread: each batch of pages is sent off to load before any of them is waited for,
+ * and the browser loads them concurrently. The number of pages open at once is set with
+ * -Dcatalog.crawler.pages (4 by default).
+ */
+public class CatalogCrawler {
+
+    public record PageResult(int pageNumber, int imageCount, List<String> brokenImages, String error) {
+        public boolean passed() {
+            return error == null && imageCount > 0 && brokenImages.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            if (error != null) {
+                return "page " + pageNumber + ": " + error;
+            }
+            return imageCount == 0 ? "page " + pageNumber + ": no product images"
+                    : "page " + pageNumber + ": broken images " + brokenImages;
+        }
+    }
+
+    public record CrawlReport(int pageCount, List<PageResult> pages, long elapsedMillis) {
+        public List<PageResult> failures() {
+            return pages.stream().filter(page -> !page.passed()).toList();
+        }
+
+        public String summary() {
+            return failures().stream().map(PageResult::toString).collect(Collectors.joining("\n",
+                    failures().size() + " of " + pageCount + " catalogue page(s) failed:\n", ""));
+        }
+    }
+
+    private final BrowserContext context;
+    private final int parallelism;
+
+    private CatalogCrawler(BrowserContext context, int parallelism) {
+        this.context = context;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public static CatalogCrawler in(BrowserContext context) {
+        return new CatalogCrawler(context, Integer.getInteger("catalog.crawler.pages", 4));
+    }
+
+    public CatalogCrawler withParallelism(int pagesOpenAtOnce) {
+        return new CatalogCrawler(context, pagesOpenAtOnce);
+    }
+
+    public CrawlReport checkProductImages() {
+        long start = System.nanoTime();
+        List<Page> workers = new ArrayList<>();
+        try {
+            workers.add(context.newPage());
+            int pageCount = pageCount(workers.get(0));
+            while (workers.size() < Math.min(parallelism, pageCount)) {
+                workers.add(context.newPage());
+            }
+
+            List<PageResult> results = new ArrayList<>();
+            for (int first = 1; first <= pageCount; first += workers.size()) {
+                int batchSize = Math.min(workers.size(), pageCount - first + 1);
+                Map<Integer, String> errors = new HashMap<>();
+
+                // Start every page in the batch loading before waiting for any of them
+                for (int i = 0; i < batchSize; i++) {
+                    int pageNumber = first + i;
+                    Page worker = workers.get(i);
+                    attempt(pageNumber, errors, () -> worker.navigate("/", new Page.NavigateOptions().setWaitUntil(WaitUntilState.COMMIT)));
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    int pageNumber = first + i;
+                    Page worker = workers.get(i);
+                    attempt(pageNumber, errors, () -> openCataloguePage(worker, pageNumber));
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    int pageNumber = first + i;
+                    Page worker = workers.get(i);
+                    attempt(pageNumber, errors, () -> results.add(checkImages(worker, pageNumber)));
+                    if (errors.containsKey(pageNumber)) {
+                        results.add(new PageResult(pageNumber, 0, List.of(), errors.get(pageNumber)));
+                    }
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("Checked product images on %d catalogue page(s), %d at a time, in %d ms%n",
+                    pageCount, workers.size(), elapsedMillis);
+            return new CrawlReport(pageCount, List.copyOf(results), elapsedMillis);
+        } finally {
+            workers.forEach(Page::close);
+        }
+    }
+
+    private static int pageCount(Page page) {
+        return WaitTimings.time("catalogue page count", () -> {
+            Response response = page.waitForResponse(
+                    candidate -> CatalogReadiness.PRODUCT_LIST_API.matcher(candidate.url()).find() && candidate.ok(),
+                    () -> page.navigate("/"));
+            return JsonParser.parseString(response.text()).getAsJsonObject().get("last_page").getAsInt();
+        });
+    }
+
+    private static void openCataloguePage(Page page, int pageNumber) {
+        CatalogReadiness readiness = CatalogReadiness.of(page);
+        readiness.productsDisplayed();
+        if (pageNumber > 1) {
+            readiness.paginationReady();
+            page.locator("li.page-item")
+                    .filter(new Locator.FilterOptions().setHasText(Pattern.compile("^\\s*" + pageNumber + "\\s*$")))
+                    .click();
+        }
+    }
+
+    private static PageResult checkImages(Page page, int pageNumber) {
+        CatalogReadiness readiness = CatalogReadiness.of(page);
+        if (pageNumber > 1) {
+            readiness.pageActive(pageNumber);
+        }
+        readiness.productImagesSettled();
+        ProductGridSnapshot grid = ProductGridSnapshot.of(page);
+        return new PageResult(pageNumber, grid.count(), grid.brokenImages(), null);
+    }
+
+    private static void attempt(int pageNumber, Map<Integer, String> errors, Runnable step) {
+        // A page that has already failed is not retried in later steps, and does not stop the other pages
+        if (errors.containsKey(pageNumber)) {
+            return;
+        }
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            errors.put(pageNumber, e.getMessage() == null ? e.toString() : e.getMessage().lines().findFirst().orElse(""));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Targeted readiness conditions for the Toolshop catalogue pages.
+ * Use these instead of waitForLoadState(LoadState.NETWORKIDLE), which waits for a 500 ms quiet period
+ * on every page, and is slow and flaky on a busy single-page app. Every wait is timed in {@link WaitTimings}.
+ */
+public class CatalogReadiness {
+
+    // Product listings and searches, on the live API and the stub alike
+    static final Pattern PRODUCT_LIST_API = Pattern.compile("/products(/search)?(\\?.*)?$");
+
+    private static final String RENDERED_NAMES_MATCH = """
+            expected => {
+                const names = [...document.querySelectorAll('[data-test=product-name]')].map(name => name.textContent.trim());
+                return names.length === expected.length && names.every((name, i) => name === expected[i]);
+            }""";
+
+    // An image is "complete" once it has either loaded or failed, so a broken image can't stall the wait
+    private static final String ALL_PRODUCT_IMAGES_SETTLED = """
+            () => {
+                const images = [...document.querySelectorAll('img.card-img-top')];
+                return images.length > 0 && images.every(img => img.complete);
+            }""";
+
+    private final Page page;
+
+    private CatalogReadiness(Page page) {
+        this.page = page;
+    }
+
+    public static CatalogReadiness of(Page page) {
+        return new CatalogReadiness(page);
+    }
+
+    /**
+     * Performs an action that reloads the product grid (sorting, filtering, searching or paging),
+     * then waits for the products API response and for the grid to show the products it returned.
+     */
+    public List<String> productsLoadedAfter(Runnable action) {
+        long start = System.nanoTime();
+        List<String> names = WaitTimings.time("products loaded", () -> {
+            Response response = page.waitForResponse(
+                    candidate -> PRODUCT_LIST_API.matcher(candidate.url()).find() && candidate.ok(),
+                    action);
+            List<String> expectedNames = ProductListResponse.parse(response.body()).names();
+            page.waitForFunction(RENDERED_NAMES_MATCH, expectedNames);
+            return expectedNames;
+        });
+        // The time to results, for tests running under a network profile
+        NetworkConditionsExtension.recordTimeToResults(System.nanoTime() - start);
+        return names;
+    }
+
+    /**
+     * Waits until the grid shows at least one product.
+     */
+    public void productsDisplayed() {
+        productNamesDisplayed(1);
+    }
+
+    /**
+     * Waits until the grid shows at least the given number of product names.
+     */
+    public void productNamesDisplayed(int count) {
+        WaitTimings.time("product names displayed", () -> page.getByTestId("product-name").nth(count - 1).waitFor());
+    }
+
+    /**
+     * Waits until every product image in the grid has finished loading, successfully or not.
+     */
+    public void productImagesSettled() {
+        WaitTimings.time("product images settled", () -> {
+            page.waitForFunction(ALL_PRODUCT_IMAGES_SETTLED);
+        });
+    }
+
+    /**
+     * Waits until the pagination controls are rendered.
+     */
+    public void paginationReady() {
+        WaitTimings.time("pagination ready", () -> page.locator("li.page-item").last().waitFor());
+    }
+
+    /**
+     * Waits until the given page number is the active page.
+     */
+    public void pageActive(int pageNumber) {
+        WaitTimings.time("page active", () -> page.locator("li.page-item.active")
+                .filter(new Locator.FilterOptions().setHasText(Pattern.compile("^\\s*" + pageNumber + "\\s*$")))
+                .waitFor());
+    }
+
+    /**
+     * Waits until the element with the given test id is visible, e.g. the submit button of a form.
+     */
+    public void testIdVisible(String testId) {
+        WaitTimings.time("element visible", () -> page.getByTestId(testId).waitFor());
+    }
+}
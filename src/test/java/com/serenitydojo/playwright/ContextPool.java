@@ -0,0 +1,165 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitUntilState;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps BrowserContexts and Pages ready for the next tests of a worker thread, optionally already on a landing page.
+ * <ul>
+ *     <li>-Dplaywright.pool.size: how many warm contexts to keep (0, the default, turns the pool off)</li>
+ *     <li>-Dplaywright.pool.landing: a path to open in every warm page, e.g. "/" for the catalogue</li>
+ *     <li>-Dplaywright.pool.max-idle: seconds a warm context may wait before it is thrown away (60 by default)</li>
+ *     <li>-Dplaywright.pool.policy: "discard" closes a context after its test (the default), "reuse" clears its
+ *     cookies, storage and routes, replaces its pages and puts it back in the pool</li>
+ * </ul>
+ * Init scripts can't be removed from a context, and page routes and listeners can't be seen from outside, so
+ * code that adds them calls {@link #doNotReuse} and the context is closed after its test instead.
+ * Playwright objects belong to the thread that created them, so the pool cannot fill itself from a background
+ * thread. It refills right after a test has finished instead, and only starts the landing navigation:
+ * the browser loads the page while JUnit moves on to the next test.
+ */
+class ContextPool implements AutoCloseable {
+
+    enum Policy { DISCARD, REUSE }
+
+    record Settings(int size, String landingPath, Duration maxIdle, Policy policy) {
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("playwright.pool.size", 0),
+                    System.getProperty("playwright.pool.landing"),
+                    Duration.ofSeconds(Long.getLong("playwright.pool.max-idle", 60)),
+                    Policy.valueOf(System.getProperty("playwright.pool.policy", "discard").toUpperCase()));
+        }
+    }
+
+    record WarmContext(BrowserContext context, Page page, long warmedAt) {}
+
+    private static final Set<BrowserContext> NOT_REUSABLE = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final BrowserEngine engine;
+    private final Settings settings;
+    private final Deque<WarmContext> idle = new ArrayDeque<>();
+    private int hits;
+    private int misses;
+    private int expired;
+
+    ContextPool(BrowserEngine engine, Settings settings) {
+        this.engine = engine;
+        this.settings = settings;
+    }
+
+    boolean enabled() {
+        return settings.size() > 0;
+    }
+
+    /**
+     * A warm context, if one is ready and has not been idle for too long.
+     */
+    Optional<WarmContext> take() {
+        if (!enabled()) {
+            return Optional.empty();
+        }
+        long oldestAllowed = System.nanoTime() - settings.maxIdle().toNanos();
+        while (!idle.isEmpty() && idle.peekFirst().warmedAt() < oldestAllowed) {
+            idle.pollFirst().context().close();
+            expired++;
+        }
+        WarmContext warm = idle.pollFirst();
+        if (warm == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return Optional.ofNullable(warm);
+    }
+
+    /**
+     * Keeps the context from being handed to another test, e.g. because it has an init script.
+     */
+    static void doNotReuse(BrowserContext context) {
+        NOT_REUSABLE.add(context);
+    }
+
+    /**
+     * Hands back the context of a finished test, and tops the pool up.
+     *
+     * @param reusable false for contexts created with test-specific options, which must never be handed to another test
+     */
+    void release(BrowserContext context, boolean reusable) {
+        boolean marked = NOT_REUSABLE.remove(context);
+        if (enabled() && reusable && !marked && settings.policy() == Policy.REUSE && idle.size() < settings.size()) {
+            try {
+                idle.addLast(new WarmContext(context, reset(context), System.nanoTime()));
+            } catch (RuntimeException e) {
+                context.close();
+            }
+        } else {
+            context.close();
+        }
+        refill();
+    }
+
+    private void refill() {
+        while (enabled() && idle.size() < settings.size()) {
+            BrowserContext context = engine.newContext(options -> { });
+            try {
+                Page page = context.newPage();
+                startLanding(page);
+                idle.addLast(new WarmContext(context, page, System.nanoTime()));
+            } catch (RuntimeException e) {
+                // Warming up is an optimisation, so a failure just means the next test starts cold
+                context.close();
+                return;
+            }
+        }
+    }
+
+    private Page reset(BrowserContext context) {
+        // Clear storage from a page of the last test, while there is one on the site's origin
+        context.pages().stream().filter(page -> page.url().startsWith("http")).findFirst()
+                .ifPresent(page -> page.evaluate("() => { localStorage.clear(); sessionStorage.clear(); }"));
+        // Closing the pages takes their routes and listeners with them
+        context.pages().forEach(Page::close);
+        context.unrouteAll();
+        context.clearCookies();
+        context.clearPermissions();
+        Page page = context.newPage();
+        startLanding(page);
+        return page;
+    }
+
+    private void startLanding(Page page) {
+        if (settings.landingPath() != null) {
+            page.navigate(settings.landingPath(), new Page.NavigateOptions().setWaitUntil(WaitUntilState.COMMIT));
+        }
+    }
+
+    /**
+     * Opens the path in the page, unless the pool has already opened it there as the landing page.
+     */
+    static void open(Page page, String path) {
+        if (!path.equals(URI.create(page.url()).getPath())) {
+            page.navigate(path);
+        }
+    }
+
+    @Override
+    public void close() {
+        idle.forEach(warm -> warm.context().close());
+        idle.clear();
+        if (hits + misses > 0) {
+            System.out.printf("Context pool: %d warm context(s) used, %d test(s) started cold, %d expired while idle%n",
+                    hits, misses, expired);
+        }
+    }
+}
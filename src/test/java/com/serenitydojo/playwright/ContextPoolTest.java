@@ -0,0 +1,65 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reuse policy of the pool must never hand a test anything the previous test left behind.
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+public class ContextPoolTest {
+
+    BrowserEngine engine;
+    ContextPool pool;
+
+    @BeforeEach
+    void launch() {
+        engine = BrowserEngine.launch(new HeadlessChromeOptions());
+        pool = new ContextPool(engine, new ContextPool.Settings(1, null, Duration.ofSeconds(60), ContextPool.Policy.REUSE));
+    }
+
+    @AfterEach
+    void close() {
+        pool.close();
+        engine.close();
+    }
+
+    @DisplayName("Gives the next test a new page, without the routes of the last test's page")
+    @Test
+    void replacesThePages() {
+        BrowserContext context = engine.newContext(options -> { });
+        Page previous = context.newPage();
+        previous.route("**/*", route -> route.abort());
+
+        pool.release(context, true);
+        ContextPool.WarmContext warm = pool.take().orElseThrow();
+
+        assertThat(warm.context()).isSameAs(context);
+        assertThat(previous.isClosed()).isTrue();
+        assertThat(warm.page()).isNotSameAs(previous);
+        assertThat(context.pages()).containsExactly(warm.page());
+    }
+
+    @DisplayName("Closes a context that has an init script, instead of handing it to another test")
+    @Test
+    void closesContextsWithInitScripts() {
+        BrowserContext context = engine.newContext(options -> { });
+        context.newPage();
+        new TestDataSeeder.Customer("customer@example.com", "secret", "a-token").signIn(context);
+
+        pool.release(context, true);
+        ContextPool.WarmContext warm = pool.take().orElseThrow();
+
+        assertThat(warm.context()).isNotSameAs(context);
+    }
+}
@@ -0,0 +1,178 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.junit.Options;
+import com.microsoft.playwright.junit.OptionsFactory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.UniqueId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs each {@link CrossBrowserTest} once per browser. {@link SharedBrowserExtension} gives every invocation
+ * an engine of its browser, launched once per worker thread and kept for the rest of the run, like any other engine.
+ * <p>
+ * At the end of the run the time each browser took is compared side by side, and every invocation is listed
+ * in target/cross-browser-timings.csv, tagged with its browser.
+ */
+public class CrossBrowserExtension implements TestTemplateInvocationContextProvider {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CrossBrowserExtension.class);
+    private static final List<String> KNOWN_BROWSERS = List.of("chromium", "firefox", "webkit");
+    private static final Path REPORT = Paths.get("target", "cross-browser-timings.csv");
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext extensionContext) {
+        return extensionContext.getTestMethod().map(method -> AnnotationSupport.isAnnotated(method, CrossBrowserTest.class)).orElse(false);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext extensionContext) {
+        return browsersFor(extensionContext.getRequiredTestMethod()).stream().map(BrowserInvocation::new);
+    }
+
+    /**
+     * The browser a test runs on, if it is an invocation of a {@link CrossBrowserTest}. Worked out from the
+     * invocation's position, as the engine may be needed before any callback of the invocation has run.
+     */
+    static Optional<String> browserFor(ExtensionContext extensionContext) {
+        Optional<Method> testMethod = extensionContext.getTestMethod();
+        if (testMethod.isEmpty() || !AnnotationSupport.isAnnotated(testMethod.get(), CrossBrowserTest.class)) {
+            return Optional.empty();
+        }
+        UniqueId.Segment invocation = UniqueId.parse(extensionContext.getUniqueId()).getLastSegment();
+        if (!invocation.getType().equals("test-template-invocation")) {
+            return Optional.empty();
+        }
+        int index = Integer.parseInt(invocation.getValue().substring(1)) - 1;
+        return Optional.of(browsersFor(testMethod.get()).get(index));
+    }
+
+    static List<String> browsersFor(Method testMethod) {
+        String[] browsers = AnnotationSupport.findAnnotation(testMethod, CrossBrowserTest.class)
+                .map(CrossBrowserTest::value)
+                .filter(names -> names.length > 0)
+                .orElseGet(() -> System.getProperty("playwright.browsers", "chromium").split(","));
+        List<String> names = Arrays.stream(browsers).map(String::trim).filter(name -> !name.isEmpty()).distinct().toList();
+        names.stream().filter(name -> !KNOWN_BROWSERS.contains(name)).findFirst().ifPresent(name -> {
+            throw new IllegalArgumentException("Unknown browser '" + name + "', expected one of " + KNOWN_BROWSERS);
+        });
+        return names;
+    }
+
+    /**
+     * The options of a test class, with the browser swapped. The launch profiles only carry Chromium switches,
+     * which Firefox and WebKit don't understand, so those launch without them.
+     */
+    static OptionsFactory launching(String browserName, OptionsFactory optionsFactory) {
+        return () -> {
+            Options options = optionsFactory.getOptions().setBrowserName(browserName);
+            if (!browserName.equals("chromium") && options.launchOptions != null) {
+                options.launchOptions.setArgs(List.of());
+            }
+            return options;
+        };
+    }
+
+    private record BrowserInvocation(String browserName) implements TestTemplateInvocationContext {
+
+        @Override
+        public String getDisplayName(int invocationIndex) {
+            return "[" + browserName + "]";
+        }
+
+        @Override
+        public List<Extension> getAdditionalExtensions() {
+            return List.of(new BrowserTimer(browserName));
+        }
+    }
+
+    /**
+     * Times the invocation from its first @BeforeEach method to the end of its body.
+     */
+    private record BrowserTimer(String browserName) implements BeforeEachCallback, AfterEachCallback {
+
+        @Override
+        public void beforeEach(ExtensionContext extensionContext) {
+            extensionContext.getStore(NAMESPACE).put("start", System.nanoTime());
+        }
+
+        @Override
+        public void afterEach(ExtensionContext extensionContext) {
+            long nanos = System.nanoTime() - extensionContext.getStore(NAMESPACE).get("start", Long.class);
+            extensionContext.getRoot().getStore(NAMESPACE)
+                    .getOrComputeIfAbsent(Report.class, type -> new Report(), Report.class)
+                    .add(new Timing(TestTimingExtension.testId(extensionContext), browserName, nanos,
+                            extensionContext.getExecutionException().isEmpty()));
+        }
+    }
+
+    private record Timing(String testId, String browserName, long nanos, boolean passed) {}
+
+    /**
+     * Lives in the root extension context, so it reports once every test in the run has finished.
+     */
+    private static class Report implements ExtensionContext.Store.CloseableResource {
+        private final Collection<Timing> timings = new ConcurrentLinkedQueue<>();
+
+        void add(Timing timing) {
+            timings.add(timing);
+        }
+
+        @Override
+        public void close() {
+            Map<String, List<Timing>> byBrowser = timings.stream()
+                    .collect(Collectors.groupingBy(Timing::browserName, TreeMap::new, Collectors.toList()));
+            Map<String, Long> medians = new TreeMap<>();
+            byBrowser.forEach((browserName, runs) -> medians.put(browserName, TestTimings.percentile(sorted(runs), 50)));
+            long fastest = medians.values().stream().mapToLong(Long::longValue).min().orElse(1);
+
+            System.out.printf("Cross-browser: %d invocation(s) on %d browser(s)%n", timings.size(), byBrowser.size());
+            byBrowser.forEach((browserName, runs) -> {
+                List<Long> sorted = sorted(runs);
+                System.out.printf("  %-8s %3d test(s), %d failed, total %6d ms, p50 %5d ms, p95 %5d ms, %.2fx the fastest%n",
+                        browserName, runs.size(), runs.stream().filter(run -> !run.passed()).count(),
+                        sorted.stream().mapToLong(Long::longValue).sum() / 1_000_000,
+                        medians.get(browserName) / 1_000_000, TestTimings.percentile(sorted, 95) / 1_000_000,
+                        (double) medians.get(browserName) / Math.max(1, fastest));
+            });
+
+            List<String> lines = Stream.concat(Stream.of("test,browser,millis,outcome"),
+                    timings.stream()
+                            .sorted(Comparator.comparing(Timing::testId).thenComparing(Timing::browserName))
+                            .map(timing -> String.format("%s,%s,%d,%s", timing.testId(), timing.browserName(),
+                                    timing.nanos() / 1_000_000, timing.passed() ? "passed" : "failed")))
+                    .toList();
+            try {
+                Files.createDirectories(REPORT.getParent());
+                Files.write(REPORT, lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write " + REPORT, e);
+            }
+        }
+
+        private static List<Long> sorted(List<Timing> runs) {
+            return runs.stream().map(Timing::nanos).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.serenitydojo.playwright;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use instead of @Test in a {@link UseSharedBrowser} class to run the test once per browser, reported as
+ * e.g. "shouldSearchByKeyword() [firefox]". The browsers are the ones given here, or those listed in
+ * -Dplaywright.browsers (chromium alone by default, so an ordinary run costs no more than before).
+ * <p>
+ * The browsers run side by side whenever parallel execution is on: run the matrix with
+ * {@code mvn test -Pcross-browser}, which runs only the cross-browser tests, against chromium, firefox and webkit.
+ * See {@link CrossBrowserExtension}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@Tag("cross-browser")
+@Execution(ExecutionMode.CONCURRENT)
+@ExtendWith(CrossBrowserExtension.class)
+public @interface CrossBrowserTest {
+    String[] value() default {};
+}
@@ -0,0 +1,262 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Tracing;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Traces every test cheaply (DOM snapshots, no screencast) and keeps the trace, a screenshot of each open page
+ * and, with -Dplaywright.artifacts.video=true, a video, only when the test fails.
+ * Open a kept trace with {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.microsoft.playwright.CLI -Dexec.args="show-trace [trace.zip]"}.
+ * <ul>
+ *     <li>-Dplaywright.artifacts=off turns it off altogether</li>
+ *     <li>-Dplaywright.artifacts.max-mb (200 by default) caps target/playwright-artifacts:
+ *     the least recently written failures are deleted first, including those of earlier runs</li>
+ * </ul>
+ * Videos can only be switched on when a context is created, so tests recording video never get a pooled context.
+ * The time spent starting each trace shows up as the "failure artifacts" phase of {@link TestTimings},
+ * and the cost of tracing the passing tests is summed up at the end of the run.
+ */
+public class FailureArtifactsExtension implements BeforeEachCallback, BrowserContextHook {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(FailureArtifactsExtension.class);
+    private static final Path ARTIFACT_DIR = Paths.get("target", "playwright-artifacts");
+    private static final Path VIDEO_DIR = ARTIFACT_DIR.resolve(".videos");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    static boolean enabled() {
+        return !"off".equalsIgnoreCase(System.getProperty("playwright.artifacts", "on-failure"));
+    }
+
+    static boolean recordVideo() {
+        return Boolean.getBoolean("playwright.artifacts.video");
+    }
+
+    static long maxBytes() {
+        return Long.getLong("playwright.artifacts.max-mb", 200) * 1024 * 1024;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        if (enabled()) {
+            SharedBrowserExtension.registerHook(extensionContext, this);
+        }
+    }
+
+    @Override
+    public boolean acceptsPooledContext(ExtensionContext extensionContext) {
+        return !recordVideo();
+    }
+
+    @Override
+    public void configure(Browser.NewContextOptions options, ExtensionContext extensionContext) {
+        if (recordVideo()) {
+            options.setRecordVideoDir(VIDEO_DIR);
+        }
+    }
+
+    @Override
+    public void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+        long start = System.nanoTime();
+        browserContext.tracing().start(new Tracing.StartOptions()
+                .setTitle(extensionContext.getDisplayName())
+                .setSnapshots(true)
+                .setScreenshots(false)
+                .setSources(false));
+        long nanos = System.nanoTime() - start;
+        extensionContext.getStore(NAMESPACE).put("overhead", nanos);
+        TestTimings.record("failure artifacts", nanos);
+    }
+
+    @Override
+    public void contextClosing(BrowserContext browserContext, ExtensionContext extensionContext) {
+        Long startNanos = extensionContext.getStore(NAMESPACE).remove("overhead", Long.class);
+        if (startNanos == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = extensionContext.getExecutionException().isPresent();
+        Path testDir = failed ? ARTIFACT_DIR.resolve(directoryNameFor(extensionContext)) : null;
+        try {
+            if (failed) {
+                Files.createDirectories(testDir);
+                // The trace is the most useful artifact, so it is saved before anything else can go wrong
+                browserContext.tracing().stop(new Tracing.StopOptions().setPath(testDir.resolve("trace.zip")));
+                savePages(browserContext, testDir);
+            } else {
+                // Stopping without a path throws the trace away
+                browserContext.tracing().stop();
+            }
+            if (recordVideo()) {
+                saveOrDeleteVideos(browserContext, testDir);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the failure artifacts of " + extensionContext.getDisplayName(), e);
+        }
+        long stopNanos = System.nanoTime() - start;
+
+        Summary summary = summary(extensionContext);
+        if (failed) {
+            long bytes = sizeOf(testDir);
+            summary.kept(bytes);
+            System.out.printf("Failure artifacts of %s (%d KB) saved to %s%n", extensionContext.getDisplayName(), bytes / 1024, testDir);
+            summary.evicted(evictLeastRecentlyWritten(testDir));
+        } else {
+            // Saving the artifacts of a failure is the point of the exercise, so only passing tests count as overhead
+            summary.overhead(startNanos + stopNanos);
+        }
+    }
+
+    private static void savePages(BrowserContext browserContext, Path testDir) {
+        List<Page> pages = browserContext.pages();
+        for (int i = 0; i < pages.size(); i++) {
+            Page page = pages.get(i);
+            if (page.isClosed()) {
+                continue;
+            }
+            try {
+                page.screenshot(new Page.ScreenshotOptions().setPath(testDir.resolve("page-" + (i + 1) + ".png")).setFullPage(true));
+            } catch (PlaywrightException e) {
+                // A page that crashed or hangs has no screenshot, but the other pages still get theirs
+                System.out.printf("Failure artifacts: could not take a screenshot of page %d: %s%n", i + 1, e.getMessage());
+            }
+        }
+    }
+
+    private static void saveOrDeleteVideos(BrowserContext browserContext, Path testDir) {
+        // Videos are only complete once their page has closed
+        List<Page> pages = new ArrayList<>(browserContext.pages());
+        pages.forEach(Page::close);
+        for (int i = 0; i < pages.size(); i++) {
+            if (pages.get(i).video() == null) {
+                continue;
+            }
+            if (testDir != null) {
+                pages.get(i).video().saveAs(testDir.resolve("page-" + (i + 1) + ".webm"));
+            }
+            pages.get(i).video().delete();
+        }
+    }
+
+    private static String directoryNameFor(ExtensionContext extensionContext) {
+        String testClass = extensionContext.getRequiredTestClass().getName()
+                .substring(extensionContext.getRequiredTestClass().getPackageName().length() + 1);
+        return testClass + "." + extensionContext.getRequiredTestMethod().getName() + "-" + LocalDateTime.now().format(TIMESTAMP);
+    }
+
+    /**
+     * Deletes the oldest failures until the directory fits within its cap again. The failure just saved is never
+     * deleted, so the latest failure is always there to look at.
+     */
+    private static synchronized int evictLeastRecentlyWritten(Path justSaved) {
+        try (Stream<Path> entries = Files.list(ARTIFACT_DIR)) {
+            List<Path> failures = entries
+                    .filter(Files::isDirectory)
+                    .filter(dir -> !dir.equals(VIDEO_DIR))
+                    .sorted(Comparator.comparing(FailureArtifactsExtension::lastModified))
+                    .toList();
+            long total = failures.stream().mapToLong(FailureArtifactsExtension::sizeOf).sum();
+            int evicted = 0;
+            for (Path failure : failures) {
+                if (total <= maxBytes()) {
+                    break;
+                }
+                if (failure.equals(justSaved)) {
+                    continue;
+                }
+                total -= sizeOf(failure);
+                delete(failure);
+                evicted++;
+            }
+            return evicted;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clean up " + ARTIFACT_DIR, e);
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long sizeOf(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static Summary summary(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Summary.class, type -> new Summary(), Summary.class);
+    }
+
+    /**
+     * Lives in the root extension context, so it reports once every test in the run has finished.
+     */
+    private static class Summary implements ExtensionContext.Store.CloseableResource {
+        private final Collection<Long> overheadNanos = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger failuresKept = new AtomicInteger();
+        private final AtomicInteger failuresEvicted = new AtomicInteger();
+        private long keptBytes;
+
+        void overhead(long nanos) {
+            overheadNanos.add(nanos);
+        }
+
+        synchronized void kept(long bytes) {
+            failuresKept.incrementAndGet();
+            keptBytes += bytes;
+        }
+
+        void evicted(int count) {
+            failuresEvicted.addAndGet(count);
+        }
+
+        @Override
+        public synchronized void close() {
+            List<Long> sorted = overheadNanos.stream().sorted().toList();
+            if (sorted.isEmpty() && failuresKept.get() == 0) {
+                return;
+            }
+            long totalMillis = sorted.stream().mapToLong(Long::longValue).sum() / 1_000_000;
+            System.out.printf("Failure artifacts: tracing cost %d ms over %d passing test(s) (avg %d ms, p95 %d ms); "
+                            + "kept %d failure(s), %d KB; evicted %d older failure(s) to stay under %d MB%n",
+                    totalMillis, sorted.size(), sorted.isEmpty() ? 0 : totalMillis / sorted.size(),
+                    TestTimings.percentile(sorted, 95) / 1_000_000,
+                    failuresKept.get(), keptBytes / 1024, failuresEvicted.get(), maxBytes() / 1024 / 1024);
+        }
+    }
+}
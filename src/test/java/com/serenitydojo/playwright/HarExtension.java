@@ -0,0 +1,175 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Records or replays the network traffic of each test class as a HAR file.
+ * <ul>
+ *     <li>-Dplaywright.har=record captures every request into src/test/resources/har/[TestClass].har</li>
+ *     <li>-Dplaywright.har=replay serves every request from that file, without touching the network,
+ *     and reports the requests that the recording did not contain</li>
+ * </ul>
+ * Record and replay against the same target (see {@link Toolshop}), as HAR entries are matched by URL.
+ */
+public class HarExtension implements BeforeAllCallback, BeforeEachCallback, AfterAllCallback, BrowserContextHook {
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(HarExtension.class);
+    private static final Path RECORDING_DIR = Paths.get("target", "har-recordings");
+    private static final AtomicInteger RECORDING_COUNTER = new AtomicInteger();
+
+    public static Mode mode() {
+        return Mode.valueOf(System.getProperty("playwright.har", "off").toUpperCase());
+    }
+
+    static Path harDirectory() {
+        return Paths.get(System.getProperty("playwright.har.dir", "src/test/resources/har"));
+    }
+
+    static Path harFileFor(Class<?> testClass) {
+        return harDirectory().resolve(testClass.getSimpleName() + ".har");
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext extensionContext) throws IOException {
+        // Start every recording from scratch, so leftovers from an earlier run don't end up in the HAR
+        Path recordings = RECORDING_DIR.resolve(extensionContext.getRequiredTestClass().getSimpleName());
+        if (mode() == Mode.RECORD && extensionContext.getRequiredTestClass().getEnclosingClass() == null && Files.exists(recordings)) {
+            try (Stream<Path> files = Files.walk(recordings)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        if (mode() != Mode.OFF) {
+            SharedBrowserExtension.registerHook(extensionContext, this);
+        }
+    }
+
+    @Override
+    public boolean acceptsPooledContext(ExtensionContext extensionContext) {
+        // A warm page may already have loaded its landing page, which would be missing from the recording
+        return false;
+    }
+
+    @Override
+    public void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+        Class<?> testClass = topLevelClass(extensionContext);
+        if (mode() == Mode.RECORD) {
+            // Each test records into its own file; they are merged into one HAR per class in afterAll()
+            Path recording = RECORDING_DIR.resolve(testClass.getSimpleName())
+                    .resolve(extensionContext.getRequiredTestMethod().getName() + "-" + RECORDING_COUNTER.incrementAndGet() + ".har");
+            browserContext.routeFromHAR(recording, new BrowserContext.RouteFromHAROptions()
+                    .setUpdate(true)
+                    .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED)
+                    .setUpdateMode(HarMode.MINIMAL));
+        } else {
+            Path harFile = harFileFor(testClass);
+            if (!Files.exists(harFile)) {
+                throw new IllegalStateException("No HAR recording for " + testClass.getSimpleName()
+                        + " at " + harFile + " - run with -Dplaywright.har=record first");
+            }
+            Queue<String> unmatched = unmatchedRequests(extensionContext);
+            browserContext.onRequestFailed(request -> {
+                // Requests aborted by @BlockResources were never meant to reach the recording
+                if (!String.valueOf(request.failure()).contains("ERR_BLOCKED_BY_CLIENT")) {
+                    unmatched.add(request.method() + " " + request.url());
+                }
+            });
+            browserContext.routeFromHAR(harFile, new BrowserContext.RouteFromHAROptions().setNotFound(HarNotFound.ABORT));
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext extensionContext) {
+        if (extensionContext.getRequiredTestClass().getEnclosingClass() != null) {
+            return;
+        }
+        if (mode() == Mode.RECORD) {
+            mergeRecordings(extensionContext.getRequiredTestClass());
+        } else if (mode() == Mode.REPLAY) {
+            reportUnmatchedRequests(extensionContext);
+        }
+    }
+
+    private static void mergeRecordings(Class<?> testClass) {
+        Path recordings = RECORDING_DIR.resolve(testClass.getSimpleName());
+        if (!Files.isDirectory(recordings)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(recordings)) {
+            List<Path> harFiles = files.filter(file -> file.toString().endsWith(".har")).sorted().toList();
+            if (harFiles.isEmpty()) {
+                return;
+            }
+            JsonObject merged = JsonParser.parseString(Files.readString(harFiles.get(0))).getAsJsonObject();
+            JsonArray entries = merged.getAsJsonObject("log").getAsJsonArray("entries");
+            for (Path harFile : harFiles.subList(1, harFiles.size())) {
+                JsonObject har = JsonParser.parseString(Files.readString(harFile)).getAsJsonObject();
+                entries.addAll(har.getAsJsonObject("log").getAsJsonArray("entries"));
+            }
+            Path target = harFileFor(testClass);
+            Files.createDirectories(target.getParent());
+            Files.writeString(target, new Gson().toJson(merged));
+            System.out.printf("HAR record: saved %d requests from %d tests to %s%n", entries.size(), harFiles.size(), target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not merge the HAR recordings for " + testClass.getSimpleName(), e);
+        }
+    }
+
+    private static void reportUnmatchedRequests(ExtensionContext extensionContext) {
+        Queue<String> unmatched = unmatchedRequests(extensionContext);
+        if (unmatched.isEmpty()) {
+            return;
+        }
+        System.out.printf("HAR replay: %d request(s) were not in %s, so the recording may be stale:%n",
+                unmatched.size(), harFileFor(extensionContext.getRequiredTestClass()));
+        unmatched.stream().distinct().forEach(request -> System.out.println("  " + request));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<String> unmatchedRequests(ExtensionContext extensionContext) {
+        return topLevelClassContext(extensionContext).getStore(NAMESPACE)
+                .getOrComputeIfAbsent("unmatched", key -> new ConcurrentLinkedQueue<String>(), Queue.class);
+    }
+
+    private static ExtensionContext topLevelClassContext(ExtensionContext extensionContext) {
+        ExtensionContext context = extensionContext;
+        while (context.getParent().isPresent() && context.getParent().get().getParent().isPresent()) {
+            context = context.getParent().get();
+        }
+        return context;
+    }
+
+    private static Class<?> topLevelClass(ExtensionContext extensionContext) {
+        return topLevelClassContext(extensionContext).getRequiredTestClass();
+    }
+}
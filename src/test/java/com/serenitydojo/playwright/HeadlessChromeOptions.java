@@ -1,19 +1,17 @@
 package com.serenitydojo.playwright;
 
-import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.junit.Options;
 
 import com.microsoft.playwright.junit.OptionsFactory;
 
-import java.util.Arrays;
-
 public class HeadlessChromeOptions implements OptionsFactory {
     @Override
     public Options getOptions() {
-        return new Options().setLaunchOptions(
-                        new BrowserType.LaunchOptions()
-                                .setArgs(Arrays.asList("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-                ).setHeadless(false)
-                .setTestIdAttribute("data-test");
+        LaunchProfile profile = LaunchProfile.current();
+        return new Options().setLaunchOptions(profile.launchOptions())
+                .setContextOptions(profile.contextOptions())
+                .setHeadless(profile.headless())
+                .setTestIdAttribute("data-test")
+                .setBaseUrl(Toolshop.baseUrl());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Named browser launch settings shared by every test class.
+ * Pick one with -Dplaywright.profile=ci-fast|debug-headed|low-memory (ci-fast is the default).
+ */
+public enum LaunchProfile {
+
+    CI_FAST("ci-fast", true, 1280, 720,
+            "--no-sandbox", "--disable-gpu", "--disable-extensions", "--disable-dev-shm-usage",
+            "--disable-background-networking", "--disable-renderer-backgrounding", "--mute-audio"),
+
+    DEBUG_HEADED("debug-headed", false, 1920, 1080,
+            "--no-sandbox", "--disable-extensions", "--disable-gpu"),
+
+    LOW_MEMORY("low-memory", true, 1024, 768,
+            "--no-sandbox", "--disable-gpu", "--disable-extensions", "--disable-dev-shm-usage",
+            "--disable-background-networking", "--disable-component-update",
+            "--renderer-process-limit=2", "--js-flags=--max-old-space-size=256",
+            "--disable-features=Translate,BackForwardCache");
+
+    private final String profileName;
+    private final boolean headless;
+    private final int viewportWidth;
+    private final int viewportHeight;
+    private final List<String> args;
+
+    LaunchProfile(String profileName, boolean headless, int viewportWidth, int viewportHeight, String... args) {
+        this.profileName = profileName;
+        this.headless = headless;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.args = List.of(args);
+    }
+
+    public static LaunchProfile current() {
+        return named(System.getProperty("playwright.profile", CI_FAST.profileName));
+    }
+
+    public static LaunchProfile named(String profileName) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.profileName.equalsIgnoreCase(profileName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown launch profile '" + profileName
+                        + "', expected one of " + Arrays.stream(values()).map(LaunchProfile::profileName).toList()));
+    }
+
+    public String profileName() {
+        return profileName;
+    }
+
+    public boolean headless() {
+        return headless;
+    }
+
+    public List<String> args() {
+        return args;
+    }
+
+    public BrowserType.LaunchOptions launchOptions() {
+        return new BrowserType.LaunchOptions()
+                .setHeadless(headless)
+                .setArgs(args);
+    }
+
+    public Browser.NewContextOptions contextOptions() {
+        return new Browser.NewContextOptions()
+                .setViewportSize(viewportWidth, viewportHeight);
+    }
+}
@@ -0,0 +1,78 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares browser launch time and memory use across the launch profiles.
+ * Run it from the IDE, or with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.serenitydojo.playwright.LaunchProfileBenchmark
+ * </pre>
+ * Memory is the resident set size of every process the JVM has spawned (the Playwright driver and the browser),
+ * read from /proc, so it is only reported on Linux.
+ */
+public class LaunchProfileBenchmark {
+
+    private static final int LAUNCHES_PER_PROFILE = Integer.getInteger("benchmark.launches", 5);
+
+    public static void main(String[] args) {
+        List<LaunchProfile> profiles = args.length > 0
+                ? Arrays.stream(args).map(LaunchProfile::named).toList()
+                : List.of(LaunchProfile.values());
+
+        System.out.printf("%-14s %12s %12s %12s%n", "profile", "launch avg", "launch min", "RSS");
+        try (Playwright playwright = Playwright.create()) {
+            for (LaunchProfile profile : profiles) {
+                long totalMillis = 0;
+                long minMillis = Long.MAX_VALUE;
+                long rssKb = 0;
+                for (int i = 0; i < LAUNCHES_PER_PROFILE; i++) {
+                    long start = System.nanoTime();
+                    try (Browser browser = playwright.chromium().launch(profile.launchOptions())) {
+                        long millis = (System.nanoTime() - start) / 1_000_000;
+                        totalMillis += millis;
+                        minMillis = Math.min(minMillis, millis);
+
+                        // Memory is measured with a page open, which is what a test actually pays for
+                        try (BrowserContext context = browser.newContext(profile.contextOptions())) {
+                            Page page = context.newPage();
+                            page.setContent("<h1>Launch profile benchmark</h1>");
+                            rssKb = Math.max(rssKb, childProcessRssKb());
+                        }
+                    }
+                }
+                System.out.printf("%-14s %9d ms %9d ms %12s%n", profile.profileName(),
+                        totalMillis / LAUNCHES_PER_PROFILE, minMillis, rssKb > 0 ? rssKb / 1024 + " MB" : "n/a");
+            }
+        }
+    }
+
+    private static long childProcessRssKb() {
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> rssKb(process.pid()))
+                .sum();
+    }
+
+    private static long rssKb(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try {
+            return Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(0);
+        } catch (IOException | RuntimeException e) {
+            // Not on Linux, or the process has already gone
+            return 0;
+        }
+    }
+}
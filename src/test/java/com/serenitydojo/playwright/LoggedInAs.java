@@ -0,0 +1,20 @@
+package com.serenitydojo.playwright;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts the test's BrowserContext already logged in, using a storage state from the {@link SessionCache}.
+ * Only applies to tests that use {@link UseSharedBrowser}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface LoggedInAs {
+    UserRole value() default UserRole.CUSTOMER;
+
+    SessionCache.LoginMethod loginMethod() default SessionCache.LoginMethod.API;
+}
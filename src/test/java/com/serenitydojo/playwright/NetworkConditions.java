@@ -0,0 +1,20 @@
+package com.serenitydojo.playwright;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test, or every test of a class (nested classes inherit it), over a slow or unreliable network.
+ * -Dplaywright.network=3g|high-latency|lossy puts every test that has no annotation of its own under a profile.
+ * The time the product grid takes to show its results is reported per profile, see {@link NetworkConditionsExtension}.
+ * Only applies to tests that use {@link UseSharedBrowser}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface NetworkConditions {
+    NetworkProfile value();
+}
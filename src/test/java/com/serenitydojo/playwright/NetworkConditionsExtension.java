@@ -0,0 +1,225 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Applies the {@link NetworkConditions} of a test to its BrowserContext, and reports how long the product grid
+ * took to show its results (see {@link CatalogReadiness#productsLoadedAfter}) under each profile.
+ * <p>
+ * Chromium is throttled through the DevTools protocol, which delays and slows down every request the way a real
+ * link would. Firefox and WebKit have no such switch, so there the latency is added in a route handler,
+ * to documents and API calls only: Playwright runs route handlers on the test's thread, so concurrent requests
+ * are delayed one after another, and delaying every image too would say more about that than about the network.
+ * Lost requests are delayed in the route handler on every browser, chosen at random with a seed per test,
+ * so a test sees the same losses every run.
+ */
+public class NetworkConditionsExtension implements BeforeEachCallback, BrowserContextHook {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(NetworkConditionsExtension.class);
+    private static final Path REPORT = Paths.get("target", "network-profile-timings.csv");
+    private static final Set<String> DELAYED_RESOURCE_TYPES = Set.of("document", "xhr", "fetch");
+
+    private static final ThreadLocal<ActiveProfile> ACTIVE = new ThreadLocal<>();
+
+    private record ActiveProfile(NetworkProfile profile, String flow, Report report) {}
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        if (profileFor(extensionContext).isPresent()) {
+            SharedBrowserExtension.registerHook(extensionContext, this);
+        }
+    }
+
+    @Override
+    public void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+        NetworkProfile profile = profileFor(extensionContext).orElseThrow();
+        if (profile.isThrottled()) {
+            Random losses = new Random(TestTimingExtension.testId(extensionContext).hashCode());
+            extensionContext.getStore(NAMESPACE).put(Throttle.class, new Throttle(browserContext, profile, losses));
+        }
+        ACTIVE.set(new ActiveProfile(profile, extensionContext.getRequiredTestMethod().getName(), report(extensionContext)));
+    }
+
+    @Override
+    public void contextClosing(BrowserContext browserContext, ExtensionContext extensionContext) {
+        ACTIVE.remove();
+        // Pooled contexts can be handed to another test, so leave them at full speed
+        Throttle throttle = extensionContext.getStore(NAMESPACE).remove(Throttle.class, Throttle.class);
+        if (throttle != null) {
+            throttle.remove();
+        }
+    }
+
+    /**
+     * Adds to the time to results of the test running on this thread, if it runs under a network profile.
+     */
+    static void recordTimeToResults(long nanos) {
+        ActiveProfile active = ACTIVE.get();
+        if (active != null) {
+            active.report().add(active.flow(), active.profile(), nanos);
+        }
+    }
+
+    static Optional<NetworkProfile> profileFor(ExtensionContext extensionContext) {
+        Optional<NetworkConditions> onMethod = extensionContext.getTestMethod()
+                .flatMap(method -> AnnotationSupport.findAnnotation(method, NetworkConditions.class));
+        if (onMethod.isPresent()) {
+            return onMethod.map(NetworkConditions::value);
+        }
+        for (Class<?> testClass = extensionContext.getRequiredTestClass(); testClass != null; testClass = testClass.getEnclosingClass()) {
+            Optional<NetworkConditions> onClass = AnnotationSupport.findAnnotation(testClass, NetworkConditions.class);
+            if (onClass.isPresent()) {
+                return onClass.map(NetworkConditions::value);
+            }
+        }
+        return Optional.ofNullable(System.getProperty("playwright.network")).map(NetworkProfile::named);
+    }
+
+    private static Report report(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Report.class, type -> new Report(), Report.class);
+    }
+
+    private static class Throttle {
+        private final BrowserContext context;
+        private final NetworkProfile profile;
+        private final Random losses;
+        private final boolean emulated;
+        private final Map<Page, CDPSession> sessions = new HashMap<>();
+        private final Consumer<Page> pageOpened = this::emulate;
+        private final Consumer<Route> delay = this::delay;
+        private final boolean routed;
+
+        Throttle(BrowserContext context, NetworkProfile profile, Random losses) {
+            this.context = context;
+            this.profile = profile;
+            this.losses = losses;
+            this.emulated = context.browser().browserType().name().equals("chromium");
+            if (emulated) {
+                // A pooled context already has its page open
+                context.pages().forEach(this::emulate);
+                context.onPage(pageOpened);
+            }
+            this.routed = !emulated || profile.lossPercent() > 0;
+            if (routed) {
+                context.route("**/*", delay);
+            }
+        }
+
+        private void emulate(Page page) {
+            CDPSession session = context.newCDPSession(page);
+            session.send("Network.enable");
+            session.send("Network.emulateNetworkConditions",
+                    conditions(profile.latencyMillis(), profile.downloadKbps(), profile.uploadKbps()));
+            sessions.put(page, session);
+        }
+
+        private void delay(Route route) {
+            long millis = 0;
+            if (!emulated && DELAYED_RESOURCE_TYPES.contains(route.request().resourceType())) {
+                millis += profile.latencyMillis();
+            }
+            if (losses.nextInt(100) < profile.lossPercent()) {
+                millis += profile.retransmissionMillis();
+            }
+            if (millis > 0) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            route.fallback();
+        }
+
+        void remove() {
+            if (routed) {
+                context.unroute("**/*", delay);
+            }
+            if (emulated) {
+                context.offPage(pageOpened);
+                sessions.forEach((page, session) -> {
+                    if (!page.isClosed()) {
+                        session.send("Network.emulateNetworkConditions", conditions(0, -1, -1));
+                        session.detach();
+                    }
+                });
+            }
+        }
+
+        private static JsonObject conditions(long latencyMillis, long downloadKbps, long uploadKbps) {
+            JsonObject conditions = new JsonObject();
+            conditions.addProperty("offline", false);
+            conditions.addProperty("latency", latencyMillis);
+            // The protocol wants bytes per second
+            conditions.addProperty("downloadThroughput", downloadKbps < 0 ? -1 : downloadKbps * 1000 / 8);
+            conditions.addProperty("uploadThroughput", uploadKbps < 0 ? -1 : uploadKbps * 1000 / 8);
+            return conditions;
+        }
+    }
+
+    /**
+     * Lives in the root extension context, so it reports once every test in the run has finished.
+     */
+    private static class Report implements ExtensionContext.Store.CloseableResource {
+        private final Map<String, Map<NetworkProfile, Collection<Long>>> samples = new ConcurrentHashMap<>();
+
+        void add(String flow, NetworkProfile profile, long nanos) {
+            samples.computeIfAbsent(flow, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(profile, key -> new ConcurrentLinkedQueue<>())
+                    .add(nanos);
+        }
+
+        @Override
+        public void close() {
+            if (samples.isEmpty()) {
+                return;
+            }
+            List<String> csv = new ArrayList<>(List.of("flow,profile,count,p50_ms,max_ms"));
+            System.out.println("Time to results by network profile (p50):");
+            new TreeMap<>(samples).forEach((flow, byProfile) -> {
+                List<String> cells = new ArrayList<>();
+                // In the order the profiles are declared, starting with the unthrottled baseline
+                new TreeMap<>(byProfile).forEach((profile, nanos) -> {
+                    List<Long> sorted = nanos.stream().sorted().toList();
+                    long p50 = TestTimings.percentile(sorted, 50) / 1_000_000;
+                    cells.add(String.format("%s %d ms", profile.profileName(), p50));
+                    csv.add(String.format("%s,%s,%d,%d,%d", flow, profile.profileName(), sorted.size(), p50,
+                            sorted.get(sorted.size() - 1) / 1_000_000));
+                });
+                System.out.printf("  %-30s %s%n", flow, String.join(", ", cells));
+            });
+            try {
+                Files.createDirectories(REPORT.getParent());
+                Files.write(REPORT, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write " + REPORT, e);
+            }
+        }
+    }
+}
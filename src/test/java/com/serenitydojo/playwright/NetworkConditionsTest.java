@@ -0,0 +1,82 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Page;
+import com.serenitydojo.playwright.pages.HomePage;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The search and sort flows of the catalogue over each network profile.
+ * The time each flow took to show its results is compared at the end of the run,
+ * and written to target/network-profile-timings.csv.
+ * Left out of the default build, run it with {@code mvn test -Pnetwork-profiles}.
+ */
+@UseSharedBrowser
+@Tag("network-profiles")
+public class NetworkConditionsTest {
+
+    abstract static class KeyFlows {
+
+        HomePage homePage;
+
+        @BeforeEach
+        void openHomePage(Page page) {
+            homePage = new HomePage(page).open();
+        }
+
+        @DisplayName("Search by keyword")
+        @Test
+        void searchByKeyword() {
+            List<String> products = homePage.searchFor("Pliers").productNames();
+
+            Assertions.assertThat(products).isNotEmpty().allMatch(name -> name.contains("Pliers"));
+        }
+
+        @DisplayName("Sort in alphabetical order")
+        @Test
+        void sortInAlphabeticalOrder() {
+            List<String> products = homePage.sortBy("Name (A - Z)").productNames();
+
+            Assertions.assertThat(products).isNotEmpty().isSortedAccordingTo(String.CASE_INSENSITIVE_ORDER);
+        }
+
+        @DisplayName("Sort by descending price")
+        @Test
+        void sortByDescendingPrice() {
+            List<Double> prices = homePage.sortBy("Price (High - Low)").productPrices();
+
+            Assertions.assertThat(prices).isNotEmpty().isSortedAccordingTo(Comparator.reverseOrder());
+        }
+    }
+
+    @DisplayName("On an unthrottled network")
+    @Nested
+    @NetworkConditions(NetworkProfile.UNTHROTTLED)
+    class Unthrottled extends KeyFlows {
+    }
+
+    @DisplayName("Over 3G")
+    @Nested
+    @NetworkConditions(NetworkProfile.THREE_G)
+    class OverThreeG extends KeyFlows {
+    }
+
+    @DisplayName("Over a high latency link")
+    @Nested
+    @NetworkConditions(NetworkProfile.HIGH_LATENCY)
+    class OverAHighLatencyLink extends KeyFlows {
+    }
+
+    @DisplayName("Over a lossy link")
+    @Nested
+    @NetworkConditions(NetworkProfile.LOSSY)
+    class OverALossyLink extends KeyFlows {
+    }
+}
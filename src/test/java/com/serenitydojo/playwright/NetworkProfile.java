@@ -0,0 +1,74 @@
+package com.serenitydojo.playwright;
+
+import java.util.Arrays;
+
+/**
+ * Named network conditions a test can run under, see {@link NetworkConditions}.
+ * Latency is added to every request, and throughput is in kilobits per second (-1 for no limit).
+ * Loss can't be emulated packet by packet, so it shows up the way TCP experiences it: the given percentage of
+ * requests waits out a retransmission timeout before it gets through.
+ */
+public enum NetworkProfile {
+
+    UNTHROTTLED("unthrottled", 0, -1, -1, 0),
+
+    // The 3G profile of WebPageTest
+    THREE_G("3g", 300, 1_600, 768, 0),
+
+    HIGH_LATENCY("high-latency", 800, 10_000, 5_000, 0),
+
+    LOSSY("lossy", 150, 5_000, 1_000, 5);
+
+    // The initial retransmission timeout of TCP (RFC 6298)
+    private static final long RETRANSMISSION_TIMEOUT_MILLIS = 1_000;
+
+    private final String profileName;
+    private final long latencyMillis;
+    private final long downloadKbps;
+    private final long uploadKbps;
+    private final int lossPercent;
+
+    NetworkProfile(String profileName, long latencyMillis, long downloadKbps, long uploadKbps, int lossPercent) {
+        this.profileName = profileName;
+        this.latencyMillis = latencyMillis;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+        this.lossPercent = lossPercent;
+    }
+
+    public static NetworkProfile named(String profileName) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.profileName.equalsIgnoreCase(profileName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown network profile '" + profileName
+                        + "', expected one of " + Arrays.stream(values()).map(NetworkProfile::profileName).toList()));
+    }
+
+    public String profileName() {
+        return profileName;
+    }
+
+    public long latencyMillis() {
+        return latencyMillis;
+    }
+
+    public long downloadKbps() {
+        return downloadKbps;
+    }
+
+    public long uploadKbps() {
+        return uploadKbps;
+    }
+
+    public int lossPercent() {
+        return lossPercent;
+    }
+
+    public long retransmissionMillis() {
+        return RETRANSMISSION_TIMEOUT_MILLIS;
+    }
+
+    public boolean isThrottled() {
+        return latencyMillis > 0 || downloadKbps >= 0 || uploadKbps >= 0 || lossPercent > 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.Gson;
+import com.microsoft.playwright.Page;
+
+import java.net.URI;
+
+/**
+ * What the browser measured about the document a page is showing, in milliseconds from the start of its navigation:
+ * Navigation Timing, the first (contentful) paint, the largest contentful paint so far and the cumulative layout shift
+ * so far. A metric the browser doesn't support is null: WebKit has no LCP or CLS, and Firefox has no CLS.
+ * <pre>
+ * assertThat(PagePerformance.measure(page).largestContentfulPaint()).isLessThan(2500.0);
+ * </pre>
+ */
+public record PagePerformance(String url,
+                              double timeOrigin,
+                              Double timeToFirstByte,
+                              Double domContentLoaded,
+                              Double load,
+                              Double firstPaint,
+                              Double firstContentfulPaint,
+                              Double largestContentfulPaint,
+                              Double cumulativeLayoutShift) {
+
+    private static final Gson GSON = new Gson();
+
+    // LCP and layout shifts are only reported to observers. A buffered observer is handed the entries recorded
+    // before it was created, straight away per the spec, or in its first callback in some browsers.
+    private static final String MEASURE = """
+            async () => {
+                const observed = type => new Promise(resolve => {
+                    if (!(PerformanceObserver.supportedEntryTypes || []).includes(type)) {
+                        resolve(null);
+                        return;
+                    }
+                    const entries = [];
+                    const observer = new PerformanceObserver(list => entries.push(...list.getEntries()));
+                    observer.observe({type, buffered: true});
+                    setTimeout(() => {
+                        entries.push(...observer.takeRecords());
+                        observer.disconnect();
+                        resolve(entries);
+                    }, 0);
+                });
+                const navigation = performance.getEntriesByType('navigation')[0];
+                const paint = name => performance.getEntriesByName(name, 'paint')[0]?.startTime ?? null;
+                const [largestPaints, layoutShifts] = await Promise.all([observed('largest-contentful-paint'), observed('layout-shift')]);
+                return {
+                    url: navigation?.name ?? location.href,
+                    timeOrigin: performance.timeOrigin,
+                    timeToFirstByte: navigation ? navigation.responseStart : null,
+                    domContentLoaded: navigation && navigation.domContentLoadedEventEnd > 0 ? navigation.domContentLoadedEventEnd : null,
+                    load: navigation && navigation.loadEventEnd > 0 ? navigation.loadEventEnd : null,
+                    firstPaint: paint('first-paint'),
+                    firstContentfulPaint: paint('first-contentful-paint'),
+                    largestContentfulPaint: largestPaints === null || largestPaints.length === 0 ? null
+                            : largestPaints[largestPaints.length - 1].startTime,
+                    cumulativeLayoutShift: layoutShifts === null ? null
+                            : layoutShifts.filter(shift => !shift.hadRecentInput).reduce((sum, shift) => sum + shift.value, 0)
+                };
+            }""";
+
+    /**
+     * Reads the metrics of the document the page is showing now. LCP and CLS keep changing until the page is left,
+     * so measure once the page has shown what the test is interested in.
+     */
+    public static PagePerformance measure(Page page) {
+        return GSON.fromJson(GSON.toJsonTree(page.evaluate(MEASURE)), PagePerformance.class);
+    }
+
+    public String path() {
+        return URI.create(url).getPath();
+    }
+
+    /**
+     * Whether the two measurements were taken of the same document, e.g. before and after the app changed its URL.
+     */
+    public boolean isSameDocumentAs(PagePerformance other) {
+        return timeOrigin == other.timeOrigin;
+    }
+}
@@ -0,0 +1,118 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.serenitydojo.playwright.impact.TestImpact;
+import org.junit.jupiter.api.DynamicTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs the cases of a data-driven test with several pages open at once, each in a context of its own,
+ * and reports every case as a test of its own. Inject it into a @TestFactory of a {@link UseSharedBrowser} class:
+ * <pre>
+ * &#64;TestFactory
+ * Stream&lt;DynamicTest&gt; mandatoryFields(ParallelCases cases) {
+ *     return cases.run(List.of("First name", "Email"), "/contact", (page, fieldName) -> ...);
+ * }
+ * </pre>
+ * Playwright objects may only be used from the thread that created them, so the pages are driven from
+ * the test's own thread, in the test's own browser, the way {@link CatalogCrawler} does it: each batch of cases
+ * has its page sent off to load before any case runs, so the browser loads them concurrently.
+ * The number of pages open at once is set with -Dplaywright.cases.pages (4 by default).
+ * The case contexts are created from the test class's options alone: hooks such as {@link BlockResources}
+ * or {@link LoggedInAs} only apply to the context injected into the test itself.
+ */
+public class ParallelCases {
+
+    @FunctionalInterface
+    public interface Case<T> {
+        void run(Page page, T value) throws Throwable;
+    }
+
+    private final BrowserEngine engine;
+    private final int parallelism;
+
+    ParallelCases(BrowserEngine engine) {
+        this.engine = engine;
+        this.parallelism = Math.max(1, Integer.getInteger("playwright.cases.pages", 4));
+    }
+
+    public <T> Stream<DynamicTest> run(List<T> cases, String path, Case<T> body) {
+        return run(cases, path, String::valueOf, body);
+    }
+
+    /**
+     * Opens the path for every case and runs them all before returning, then replays each outcome as a dynamic test,
+     * so failures are reported against the case that caused them.
+     */
+    public <T> Stream<DynamicTest> run(List<T> cases, String path, Function<T, String> displayName, Case<T> body) {
+        long start = System.nanoTime();
+        Map<Integer, Throwable> failures = new HashMap<>();
+        for (int first = 0; first < cases.size(); first += parallelism) {
+            int batchSize = Math.min(parallelism, cases.size() - first);
+            List<BrowserContext> contexts = new ArrayList<>();
+            try {
+                List<Page> pages = new ArrayList<>();
+                // Start every page in the batch loading before running any of the cases
+                for (int i = 0; i < batchSize; i++) {
+                    BrowserContext context = engine.newContext(options -> { });
+                    contexts.add(context);
+                    // The cases count towards the test that runs them in the test impact index
+                    if (TestImpact.current() != null) {
+                        TestImpact.current().watch(context);
+                    }
+                    Page page = context.newPage();
+                    pages.add(page);
+                    attempt(first + i, failures, () -> page.navigate(path, new Page.NavigateOptions().setWaitUntil(WaitUntilState.COMMIT)));
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    Page page = pages.get(i);
+                    T value = cases.get(first + i);
+                    attempt(first + i, failures, () -> {
+                        page.waitForLoadState();
+                        body.run(page, value);
+                    });
+                }
+            } finally {
+                contexts.forEach(BrowserContext::close);
+            }
+        }
+
+        List<DynamicTest> tests = new ArrayList<>();
+        for (int i = 0; i < cases.size(); i++) {
+            Throwable failure = failures.get(i);
+            tests.add(DynamicTest.dynamicTest(displayName.apply(cases.get(i)), () -> {
+                if (failure != null) {
+                    throw failure;
+                }
+            }));
+        }
+        System.out.printf("Parallel cases: ran %d case(s), %d page(s) at a time, in %d ms%n",
+                cases.size(), Math.min(parallelism, cases.size()), (System.nanoTime() - start) / 1_000_000);
+        return tests.stream();
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Throwable;
+    }
+
+    private static void attempt(int index, Map<Integer, Throwable> failures, Step step) {
+        // A case that has already failed is not run any further, and does not stop the other cases
+        if (failures.containsKey(index)) {
+            return;
+        }
+        try {
+            step.run();
+        } catch (Throwable failure) {
+            failures.put(index, failure);
+        }
+    }
+}
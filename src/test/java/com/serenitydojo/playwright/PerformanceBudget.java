@@ -0,0 +1,43 @@
+package com.serenitydojo.playwright;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test if a page it opened at the given path went over budget, e.g.
+ * {@code @PerformanceBudget(path = "/", largestContentfulPaint = 2500)} for the home page.
+ * Put it on a test or a test class (nested classes inherit it); the limits left at -1 aren't checked,
+ * and neither are the metrics a browser doesn't support. See {@link WebPerformanceExtension}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Repeatable(PerformanceBudget.List.class)
+public @interface PerformanceBudget {
+
+    /**
+     * The path of the pages the budget applies to, or "" for every page.
+     */
+    String path() default "";
+
+    double timeToFirstByte() default -1;
+
+    double firstContentfulPaint() default -1;
+
+    double largestContentfulPaint() default -1;
+
+    double load() default -1;
+
+    double cumulativeLayoutShift() default -1;
+
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Inherited
+    @interface List {
+        PerformanceBudget[] value();
+    }
+}
@@ -0,0 +1,44 @@
+package com.serenitydojo.playwright;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PerformanceBudgetTest {
+
+    private static final PagePerformance HOME_PAGE = new PagePerformance("http://localhost:4200/", 1.0,
+            120.0, 800.0, 1_100.0, 300.0, 320.0, 3_200.0, 0.05);
+    private static final PagePerformance CONTACT_PAGE = new PagePerformance("http://localhost:4200/contact", 2.0,
+            90.0, 500.0, 700.0, 250.0, 260.0, null, null);
+
+    @PerformanceBudget(path = "/", largestContentfulPaint = 2500)
+    @PerformanceBudget(cumulativeLayoutShift = 0.1, firstContentfulPaint = 300)
+    void budgeted() {
+    }
+
+    @DisplayName("Reports every metric that went over a budget for the page's path")
+    @Test
+    void overBudget() throws NoSuchMethodException {
+        List<String> overBudget = WebPerformanceExtension.overBudget(List.of(HOME_PAGE, CONTACT_PAGE), budgets());
+
+        assertThat(overBudget).containsExactly(
+                "largest contentful paint of http://localhost:4200/ was 3200.00, over its budget of 2500.00",
+                "first contentful paint of http://localhost:4200/ was 320.00, over its budget of 300.00");
+    }
+
+    @DisplayName("Doesn't hold a browser to metrics it can't measure")
+    @Test
+    void unsupportedMetrics() throws NoSuchMethodException {
+        PagePerformance onWebKit = new PagePerformance("http://localhost:4200/", 1.0, 120.0, 800.0, 1_100.0, null, 200.0, null, null);
+
+        assertThat(WebPerformanceExtension.overBudget(List.of(onWebKit), budgets())).isEmpty();
+    }
+
+    private static List<PerformanceBudget> budgets() throws NoSuchMethodException {
+        return AnnotationSupport.findRepeatableAnnotations(PerformanceBudgetTest.class.getDeclaredMethod("budgeted"), PerformanceBudget.class);
+    }
+}
@@ -2,54 +2,28 @@ package com.serenitydojo.playwright;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.AriaRole;
-import com.microsoft.playwright.options.LoadState;
+import com.serenitydojo.playwright.pages.SearchResults;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
 
 import java.nio.file.Paths;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThat;
 
+@UseSharedBrowser
+@BlockResources
 public class PlayWrightAssertionsTest {
 
-    static Playwright playwright;
-    static Browser browser;
-    static BrowserContext browserContext;
-
     Page page;
 
-    @BeforeAll
-    static void setUpBrowser() {
-        playwright = Playwright.create();
-        playwright.selectors().setTestIdAttribute("data-test");
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions().setHeadless(false)
-                        .setArgs(Arrays.asList("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-        );
-    }
-
     @BeforeEach
-    void setUp() {
-        browserContext = browser.newContext();
-        page = browserContext.newPage();
-        page.setViewportSize(1920, 1080);
+    void setUp(Page page) {
+        this.page = page;
         
     }
 
-    @AfterEach
-    void closeContext() {
-        browserContext.close();
-    }
-
-    @AfterAll
-    static void tearDown() {
-        browser.close();
-        playwright.close();
-    }
-
 
     @DisplayName("Making assertions about a contents of the field")
     @Nested
@@ -57,15 +31,15 @@ public class PlayWrightAssertionsTest {
 
         @BeforeEach
         void openContactPage() {
-            page.navigate("https://practicesoftwaretesting.com/");
-            page.waitForCondition(() -> page.getByTestId("product-name").count() > 0);
+            ContextPool.open(page, "/");
+            CatalogReadiness.of(page).productsDisplayed();
 
         }
 
         @DisplayName("Check the value of the field")
         @Test
         void fieldValues() {
-            page.navigate("https://practicesoftwaretesting.com/contact/"); 
+            page.navigate("/contact/"); 
             var firstNameField = page.getByLabel("First name");
             firstNameField.fill("Sarah Jane");
             assertThat(firstNameField).hasValue("Sarah Jane");
@@ -77,11 +51,7 @@ public class PlayWrightAssertionsTest {
         @DisplayName("Making assertions about data values")
         @Test
         void allProductPricesShouldBeCorectValues() {
-            List<Double> prices = page.getByTestId("product-price")
-            .allInnerTexts()
-            .stream()
-            .map(price -> Double.parseDouble(price.replace("$","")))
-            .toList();
+            List<Double> prices = new SearchResults(page).productPrices();
         
             Assertions.assertThat(prices)
             .allMatch(price -> price > 0.0)
@@ -97,10 +67,9 @@ public class PlayWrightAssertionsTest {
         @DisplayName("Sort in alphabetical order")
         @Test
         void sortInAlphabeticalOrder() {
-            page.getByTestId("sort").selectOption("Name (A - Z)");
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-
-            List<String> productNames = page.getByTestId("product-name").allTextContents();
+            // The names in the API response, which the grid is already showing once this returns
+            List<String> productNames = CatalogReadiness.of(page).productsLoadedAfter(
+                    () -> page.getByTestId("sort").selectOption("Name (A - Z)"));
 
             Assertions.assertThat(productNames).isSortedAccordingTo(String.CASE_INSENSITIVE_ORDER);
 
@@ -110,10 +79,9 @@ public class PlayWrightAssertionsTest {
         @DisplayName("Sort in reverse alphabetical order")
         @Test
         void sortInReverseAlphabeticalOrder() {
-            page.getByTestId("sort").selectOption("Name (Z - A)");
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-
-            List<String> productNames = page.getByTestId("product-name").allTextContents();
+            // The names in the API response, which the grid is already showing once this returns
+            List<String> productNames = CatalogReadiness.of(page).productsLoadedAfter(
+                    () -> page.getByTestId("sort").selectOption("Name (Z - A)"));
 
             Assertions.assertThat(productNames).isSortedAccordingTo(Comparator.reverseOrder());
 
@@ -122,43 +90,15 @@ public class PlayWrightAssertionsTest {
 
         @DisplayName("Verify all product images are loaded on each page")
         @Test
-        void allProductImagesShouldBeLoaded() {
-            // Navigate to the home page
-            page.navigate("https://practicesoftwaretesting.com/");
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-
-            // Loop through all pages
-            while (true) {
-                // Check if all product images are loaded on the current page
-                @SuppressWarnings("unchecked")
-                List<Boolean> imageStatuses = (List<Boolean>) page.locator("img.card-img-top")
-                    .evaluateAll("imgs => imgs.map(img => img.complete && img.naturalHeight > 0)");
-
-                // Assert that all images are loaded
-                Assertions.assertThat(imageStatuses)
-                    .isNotEmpty()
-                    .allMatch(status -> status);
-
-            // Check if there is a "Next" button to navigate to the next page
-
-            Locator nextButton = page.locator("li.page-item").last();
-        
-
-            // Check if the class contains "disabled" before clicking
-            boolean isDisabled = (Boolean) nextButton.evaluate(
-                "element => element.classList.contains('disabled')");
-
-            if (isDisabled) {
-                // If the "Next" button is disabled, break the loop
-                System.out.println("No more pages to navigate.");
-                break; // Exit the loop if the element is disabled
-            }
-
-            // Click the "Next" button to go to the next page
-            nextButton.click();
-            page.waitForLoadState(LoadState.NETWORKIDLE);}
-                
-            }
+        @BlockResources(enabled = false)
+        void allProductImagesShouldBeLoaded(BrowserContext context) {
+            // Opens the catalogue pages side by side and reports every page with broken images
+            var report = CatalogCrawler.in(context).checkProductImages();
+
+            Assertions.assertThat(report.failures())
+                .as(report::summary)
+                .isEmpty();
+        }
 
         
             @DisplayName("Verify if validation errors are visible on Login page")
@@ -166,8 +106,8 @@ public class PlayWrightAssertionsTest {
 
             void checkValidationErrorsOnLoginForm() {
                 // Navigate to the home page
-                page.navigate("https://practicesoftwaretesting.com/auth/login");
-                page.waitForLoadState(LoadState.NETWORKIDLE);
+                page.navigate("/auth/login");
+                CatalogReadiness.of(page).testIdVisible("login-submit");
 
                 // Check if validation errors are visible for mandatory fields
                 page.getByTestId("login-submit").click();
@@ -195,8 +135,8 @@ public class PlayWrightAssertionsTest {
             @Test
             void checkValidationErrorsOnRegistrationForm() {
                 // Navigate to the home page
-                page.navigate("https://practicesoftwaretesting.com/auth/register");
-                page.waitForLoadState(LoadState.NETWORKIDLE);
+                page.navigate("/auth/register");
+                CatalogReadiness.of(page).testIdVisible("register-submit");
 
                 // Check if validation errors are visible on mandatory fields
                 page.getByTestId("register-submit").click();
@@ -237,8 +177,8 @@ public class PlayWrightAssertionsTest {
 
             void registerNewUser() {
                 // Navigate to the home page
-                page.navigate("https://practicesoftwaretesting.com/auth/register");
-                page.waitForLoadState(LoadState.NETWORKIDLE);
+                page.navigate("/auth/register");
+                CatalogReadiness.of(page).testIdVisible("register-submit");
 
                 // Fill in the registration form
                 page.getByTestId("first-name").fill("Jovan");
@@ -4,29 +4,32 @@ import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertTha
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.TestFactory;
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
-import com.microsoft.playwright.junit.UsePlaywright;
-import com.microsoft.playwright.options.AriaRole;
+import com.serenitydojo.playwright.pages.ContactForm;
 
-@UsePlaywright(HeadlessChromeOptions.class)
+@UseSharedBrowser(HeadlessChromeOptions.class)
+@BlockResources
 
 public class PlayWrightFormsTest {
     Playwright playwright;
     Browser browser;
     Page page;
+    ContactForm contactForm;
 
     @BeforeEach
     void openContactPage(Page page) {
         this.page = page;
-        page.navigate("https://practicesoftwaretesting.com/contact");
+        contactForm = new ContactForm(page).open();
     }
     
     @Nested
@@ -35,19 +38,15 @@ public class PlayWrightFormsTest {
     @DisplayName("Complete the form")
     @Test
         void completeForm(Page page) throws URISyntaxException {
-            var firstNameField = page.getByLabel("First name");
-            var lastNameField = page.getByLabel("last name");
-            var emailNameField = page.getByLabel("Email");
-            var messageField = page.getByLabel("Message");
-            var subjectField = page.getByLabel("Subject");
-            var uploadField = page.getByLabel("Attachment");
+            var firstNameField = contactForm.firstName();
+            var lastNameField = contactForm.lastName();
+            var emailNameField = contactForm.email();
+            var messageField = contactForm.message();
+            var subjectField = contactForm.subject();
+            var uploadField = contactForm.attachment();
     
 
-            firstNameField.fill("Sarah Jane");
-            lastNameField.fill("Smith");
-            emailNameField.fill("sarah-jane@example.com");
-            messageField.fill("This is a test message.");
-            subjectField.selectOption("Return");
+            contactForm.complete("Sarah Jane", "Smith", "sarah-jane@example.com", "Return", "This is a test message.");
 
 
         Path fileToUpload = Paths.get("C:\\Users\\jovan1.aleksic\\OneDrive - Synechron Inc\\Desktop\\Playwright\\my_first_test_project\\my_first_test_project\\src\\test\\java\\com\\serenitydojo\\data\\simple-text.txt");
@@ -66,38 +65,30 @@ public class PlayWrightFormsTest {
         }
 
         @DisplayName("Mandatory fields")
-        @ParameterizedTest
-        @ValueSource(strings = { "First name", "last name", "Email", "Message" })
-        void mandatoryFields(String fieldName) {
-            var firstNameField = page.getByLabel("First name");
-            var lastNameField = page.getByLabel("last name");
-            var emailNameField = page.getByLabel("Email");
-            var messageField = page.getByLabel("Message");
-            var subjectField = page.getByLabel("Subject");
-            var sendButton = page.getByText("Send");
+        @TestFactory
+        Stream<DynamicTest> mandatoryFields(ParallelCases cases) {
+            // Each field is checked on a contact page of its own, all loaded at the same time
+            return cases.run(List.of("First name", "last name", "Email", "Message"), "/contact", (casePage, fieldName) -> {
+                var caseForm = new ContactForm(casePage);
 
-            //fill in the field values
+                //fill in the field values
 
-            firstNameField.fill("Sarah Jane");
-            lastNameField.fill("Smith");
-            emailNameField.fill("sarah-jane@example.com");
-            messageField.fill("This is a test message.");
-            subjectField.selectOption("Return");
+                caseForm.complete("Sarah Jane", "Smith", "sarah-jane@example.com", "Return", "This is a test message.");
 
-            //clear the field values
+                //clear the field values
 
-            var field = page.getByLabel(fieldName);
-            assertThat(field).isVisible();
-            field.clear();
+                var field = caseForm.field(fieldName);
+                assertThat(field).isVisible();
+                field.clear();
 
-            sendButton.click();
+                caseForm.send();
 
 
-            var errorMessage = page.getByRole(AriaRole.ALERT).getByText(fieldName + " is required");
+                var errorMessage = caseForm.errorMessage(fieldName + " is required");
 
-            //check the error message for that field
-            assertThat(errorMessage).isVisible();
-        
+                //check the error message for that field
+                assertThat(errorMessage).isVisible();
+            });
                 }
             } // Close WhenInteractingWithTextFields class
         } // Close PlayWrightFormsTest class
@@ -2,9 +2,7 @@ package com.serenitydojo.playwright;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.assertions.PlaywrightAssertions;
-import com.microsoft.playwright.junit.UsePlaywright;
 import com.microsoft.playwright.options.AriaRole;
-import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.SelectOption;
 import org.junit.jupiter.api.*;
 
@@ -13,7 +11,8 @@ import java.util.regex.Pattern;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
-@UsePlaywright(HeadlessChromeOptions.class)
+@UseSharedBrowser(HeadlessChromeOptions.class)
+@BlockResources
 public class PlaywrightLocatorsTest {
 
     @DisplayName("Locating elements using CSS")
@@ -22,7 +21,7 @@ public class PlaywrightLocatorsTest {
 
         @BeforeEach
         void openContactPage(Page page) {
-            page.navigate("https://practicesoftwaretesting.com/contact");
+            page.navigate("/contact");
         }
 
         @DisplayName("By id")
@@ -56,7 +55,7 @@ public class PlaywrightLocatorsTest {
 
         @BeforeEach
         void openContactPage(Page page) {
-            page.navigate("https://practicesoftwaretesting.com/contact");
+            page.navigate("/contact");
         }
 
         // :has-text matches any element containing specified text somewhere inside.
@@ -126,7 +125,7 @@ public class PlaywrightLocatorsTest {
         @DisplayName("Using the BUTTON role")
         @Test
         void byButton(Page page) {
-            page.navigate("https://practicesoftwaretesting.com/contact");
+            page.navigate("/contact");
 
 
             page.getByRole(AriaRole.BUTTON,
@@ -207,7 +206,7 @@ public class PlaywrightLocatorsTest {
         @DisplayName("Using a label")
         @Test
         void byLabel(Page page) {
-            page.navigate("https://practicesoftwaretesting.com/contact");
+            page.navigate("/contact");
 
             page.getByLabel("First name").fill("Obi-Wan");
             page.getByLabel("Last name").fill("Kenobi");
@@ -220,7 +219,7 @@ public class PlaywrightLocatorsTest {
         @DisplayName("Using a placeholder text")
         @Test
         void byPlaceholder(Page page) {
-            page.navigate("https://practicesoftwaretesting.com/contact");
+            page.navigate("/contact");
 
             page.getByPlaceholder("Your first name").fill("Obi-Wan");
 
@@ -343,7 +342,7 @@ public class PlaywrightLocatorsTest {
     }
 
     private void openPage(Page page) {
-        page.navigate("https://practicesoftwaretesting.com");
-        page.waitForLoadState(LoadState.NETWORKIDLE);
+        page.navigate("/");
+        CatalogReadiness.of(page).productsDisplayed();
     }
 }
\ No newline at end of file
@@ -6,53 +6,33 @@ import com.google.gson.JsonObject;
 import com.microsoft.playwright.*;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.parallel.Execution;
-import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.serenitydojo.playwright.mock.GeneratedProducts;
+import com.serenitydojo.playwright.mock.MockApi;
+import com.serenitydojo.playwright.mock.MockResponse;
+
 import java.lang.reflect.Array;
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.stream.Stream;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
-@Execution(ExecutionMode.SAME_THREAD)
-
+@UseSharedBrowser
 public class PlaywrightRestAPITest {
-        protected static Playwright playwright;
-        protected static Browser browser;
-        protected static BrowserContext browserContext;
 
         Page page;
 
-        @BeforeAll
-        static void setUpBrowser() {
-            playwright = Playwright.create();
-            playwright.selectors().setTestIdAttribute("data-test");
-            browser = playwright.chromium().launch
-            (new BrowserType.LaunchOptions().setHeadless(false).setArgs
-            (Arrays.asList("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-            );
-
-            } 
-        
             @BeforeEach
-            void setUp() {
-                browserContext = browser.newContext();
-                page = browserContext.newPage();
+            void setUp(Page page) {
+                this.page = page;
 
-                page.navigate("https://practicesoftwaretesting.com");
+                page.navigate("/");
                 page.getByPlaceholder("Search").waitFor();
             }
 
-            @AfterEach
-            void closeContext() {
-                browser.close();
-                playwright.close();
-            }
-
             @DisplayName("Mocking out API responses")
             @Nested
             class MockingAPIResponses {
@@ -63,11 +43,10 @@ public class PlaywrightRestAPITest {
 
                     // Mock the API response for the search query "Pliers"
                     
-                    page.route("**/products/search?q=pliers", 
-                    route -> route.fulfill(new Route.FulfillOptions()
-                    .setBody(MockSearchResponses.RESPONSE_WITH_A_SINGLE_ENTRY)
-                    .setStatus(200))
-                    ); 
+                    MockApi.forToolshop()
+                            .get("/products/search").withQuery("q", "pliers")
+                            .respondWith(MockResponse.json(MockSearchResponses.RESPONSE_WITH_A_SINGLE_ENTRY))
+                            .installOn(page);
                 
                     var searchBox = page.getByPlaceholder("Search");
                     searchBox.fill("Pliers");
@@ -78,6 +57,23 @@ public class PlaywrightRestAPITest {
 
 
                 }
+
+                @Test
+                @DisplayName("When the catalogue holds 10,000 products")
+                void whenTheCatalogueIsVeryLarge() {
+                    var mockApi = MockApi.forToolshop()
+                            .get("/products").respondWith(MockResponse.productPages(GeneratedProducts.of(10_000)))
+                            .withLatency(Duration.ofMillis(50))
+                            .installOn(page);
+
+                    page.reload();
+                    CatalogReadiness.of(page).productsDisplayed();
+
+                    assertThat(page.getByTestId("product-name")).hasCount(9);
+                    assertThat(page.getByTestId("product-name").first()).hasText("Hammer 00001");
+                    assertThat(page.locator("li.page-item").filter(new Locator.FilterOptions().setHasText("1112"))).hasCount(1);
+                    Assertions.assertThat(mockApi.requestsServed()).isPositive();
+                }
             }
 
 }
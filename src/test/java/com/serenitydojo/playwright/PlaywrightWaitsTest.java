@@ -3,60 +3,33 @@ package com.serenitydojo.playwright;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.AriaRole;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import com.serenitydojo.playwright.flaky.RetryingTest;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.parallel.Execution;
-import org.junit.jupiter.api.parallel.ExecutionMode;
 
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThat;
 
-@Execution(ExecutionMode.SAME_THREAD)
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@UseSharedBrowser
+// The "poor" thresholds of the Core Web Vitals, for the catalogue home page with its images and fonts
+@PerformanceBudget(path = "/", largestContentfulPaint = 4000, cumulativeLayoutShift = 0.25)
 public class PlaywrightWaitsTest {
 
-    protected static Playwright playwright;
-    protected static Browser browser;
-    protected static BrowserContext browserContext;    
-    
     Page page;
 
-    @BeforeAll
-    static void setUpBrowser() {
-        playwright = Playwright.create();
-        playwright.selectors().setTestIdAttribute("data-test");
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions().setHeadless(false)
-                        .setArgs(Arrays.asList("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-        );
-    }
-
     @BeforeEach
-    void setUp() {
-        browserContext = browser.newContext();
-        page = browserContext.newPage();
+    void setUp(Page page) {
+        this.page = page;
     }
 
-    @AfterEach
-    void closeContext() {
-        browserContext.close();
-    }
-
-    @AfterAll
-    void tearDown() {
-        browser.close();
-        playwright.close();
-    }   
-
     @Nested
     class WaitingForState {
         @BeforeEach
         void openHomePage() { 
-            page.navigate("https://practicesoftwaretesting.com/");
+            ContextPool.open(page, "/");
             page.waitForSelector(".card-img-top");        
         }
 
@@ -71,11 +44,11 @@ public class PlaywrightWaitsTest {
     class AutomaticWaits {
         @BeforeEach
         void openHomePage() {
-            page.navigate("https://practicesoftwaretesting.com/");
+            ContextPool.open(page, "/");
         }
 
         // Automatic wait
-        @Test
+        @RetryingTest
         @DisplayName("Should wait for the filter checkbox options to appear before clicking")
         void shouldWaitForFilterCheckboxOptions() {
             var screwdriverFilter = page.getByLabel("Screwdriver");
@@ -103,28 +76,22 @@ public class PlaywrightWaitsTest {
     }
     @Nested
     class WaitingForAPICalls {
-        @Test
+        @RetryingTest
         void sortByDescendingPrice() {
-            page.navigate("https://practicesoftwaretesting.com/");
+            ContextPool.open(page, "/");
 
             // Sort by descending price 
 
-            //GET
-	https://api.practicesoftwaretesting.com/products?sort=price,desc&between=price,1,100&page=0
+            //GET https://api.practicesoftwaretesting.com/products?sort=price,desc&between=price,1,100&page=0
     
-            page.waitForResponse("**/products?sort**",
+            // Check the order of the prices the API sent, rather than scraping them off the page
+            var response = ProductListResponse.capturedAfter(page, "**/products?sort**",
                 () -> {
                     page.getByTestId("sort").selectOption("Price (High - Low)");
                     
                 });
 
-
-            //Find all the prices on the page
-            var productPrices = page.getByTestId("product-price")
-                    .allInnerTexts()
-                    .stream()
-                    .map(WaitingForAPICalls::extractPrice)
-                    .toList();
+            var productPrices = response.prices();
 
             // Are the prices in the correct order
             System.out.println("Product prices: " + productPrices);
@@ -133,10 +100,6 @@ public class PlaywrightWaitsTest {
                     .isSortedAccordingTo(Comparator.reverseOrder());
 
         }
-
-        private static Double extractPrice(String price) {
-            return Double.parseDouble(price.replace("$", ""));
-        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of products from the /products and /products/search endpoints, in the shape of {@link MockSearchResponses}.
+ * <p>
+ * The body is read with a streaming parser that keeps only the fields below and skips the rest
+ * (descriptions, image credits...), without building a JSON tree. Tests can capture the response
+ * that the page received and check sorting and filtering against it, rather than scraping the rendered grid.
+ */
+public record ProductListResponse(List<Product> products, int currentPage, int lastPage, int total) {
+
+    public record Product(String id, String name, double price, boolean inStock, String category, String brand) {}
+
+    /**
+     * Performs an action that makes the page load a list of products, and returns the products it received.
+     */
+    public static ProductListResponse capturedAfter(Page page, Runnable action) {
+        Response response = page.waitForResponse(
+                candidate -> CatalogReadiness.PRODUCT_LIST_API.matcher(candidate.url()).find() && candidate.ok(),
+                action);
+        return parse(response.body());
+    }
+
+    /**
+     * Like {@link #capturedAfter(Page, Runnable)}, for a response whose URL matches the glob,
+     * e.g. "**&#47;products?sort**", so that a product list still loading from earlier is not picked up by mistake.
+     */
+    public static ProductListResponse capturedAfter(Page page, String urlGlob, Runnable action) {
+        return parse(page.waitForResponse(urlGlob, action).body());
+    }
+
+    public static ProductListResponse parse(byte[] body) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            List<Product> products = new ArrayList<>();
+            int currentPage = 1;
+            int lastPage = 1;
+            int total = 0;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "data" -> {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            products.add(readProduct(reader));
+                        }
+                        reader.endArray();
+                    }
+                    case "current_page" -> currentPage = reader.nextInt();
+                    case "last_page" -> lastPage = reader.nextInt();
+                    case "total" -> total = reader.nextInt();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return new ProductListResponse(List.copyOf(products), currentPage, lastPage, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the product list response", e);
+        }
+    }
+
+    private static Product readProduct(JsonReader reader) throws IOException {
+        String id = null;
+        String name = null;
+        double price = 0;
+        boolean inStock = true;
+        String category = null;
+        String brand = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> id = reader.nextString();
+                case "name" -> name = reader.nextString();
+                case "price" -> price = reader.nextDouble();
+                case "in_stock" -> inStock = reader.nextBoolean();
+                case "category" -> category = readName(reader);
+                case "brand" -> brand = readName(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Product(id, name, price, inStock, category, brand);
+    }
+
+    private static String readName(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("name")) {
+                name = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    public List<String> names() {
+        return products.stream().map(Product::name).toList();
+    }
+
+    public List<Double> prices() {
+        return products.stream().map(Product::price).toList();
+    }
+}
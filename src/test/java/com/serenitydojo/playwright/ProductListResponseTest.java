@@ -0,0 +1,50 @@
+package com.serenitydojo.playwright;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductListResponseTest {
+
+    @DisplayName("Reads the products and paging details of a search response")
+    @Test
+    void readsASearchResponse() {
+        var response = ProductListResponse.parse(MockSearchResponses.RESPONSE_WITH_A_SINGLE_ENTRY.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.products()).containsExactly(
+                new ProductListResponse.Product("01JBSC2JBTD1HY15BZQR9RMBB8", "Super Pliers", 14.15, true, null, null));
+        assertThat(response.currentPage()).isEqualTo(1);
+        assertThat(response.lastPage()).isEqualTo(1);
+        assertThat(response.total()).isEqualTo(1);
+    }
+
+    @DisplayName("Reads an empty search response")
+    @Test
+    void readsAnEmptyResponse() {
+        var response = ProductListResponse.parse(MockSearchResponses.RESPONSE_WITH_NO_ENTRIES.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.products()).isEmpty();
+        assertThat(response.total()).isZero();
+    }
+
+    @DisplayName("Keeps the category and brand names of each product")
+    @Test
+    void readsCategoryAndBrandNames() {
+        var body = """
+                {"data": [{"id": "1", "name": "Hammer", "price": 12.5, "in_stock": false,
+                           "category": {"id": "c", "name": "Hammer", "slug": "hammer"},
+                           "brand": {"id": "b", "name": "ForgeFlex Tools"}}],
+                 "current_page": 2, "last_page": 3, "total": 20}
+                """;
+
+        var response = ProductListResponse.parse(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.products()).containsExactly(
+                new ProductListResponse.Product("1", "Hammer", 12.5, false, "Hammer", "ForgeFlex Tools"));
+        assertThat(response.currentPage()).isEqualTo(2);
+        assertThat(response.prices()).containsExactly(12.5);
+    }
+}
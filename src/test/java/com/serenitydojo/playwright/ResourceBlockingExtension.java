@@ -0,0 +1,147 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Route;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Applies the {@link BlockResources} policy of a test to its BrowserContext, and reports what it saved.
+ * <p>
+ * Requests are aborted before they leave the browser, so their real size is unknown. The extension learns the size
+ * of each resource from tests that do download it, and uses that to estimate the bytes that blocking saved.
+ */
+public class ResourceBlockingExtension implements BeforeEachCallback, BrowserContextHook {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResourceBlockingExtension.class);
+
+    // Routes are only registered for URLs that look like the blocked resource types,
+    // so that documents and API calls never make the round trip to the route handler.
+    private static final Map<String, String> RESOURCE_TYPE_GLOBS = Map.of(
+            "image", "**/*.{png,jpg,jpeg,gif,webp,avif,svg,ico}{,?*}",
+            "font", "**/*.{woff,woff2,ttf,otf,eot}{,?*}",
+            "media", "**/*.{mp4,webm,ogg,mp3,wav}{,?*}",
+            "stylesheet", "**/*.css{,?*}");
+
+    private static final Map<String, Long> KNOWN_RESOURCE_SIZES = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        SharedBrowserExtension.registerHook(extensionContext, this);
+    }
+
+    @Override
+    public void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+        Optional<BlockResources> policy = policyFor(extensionContext).filter(BlockResources::enabled);
+        if (policy.isEmpty()) {
+            // Nothing is blocked, so learn how big the resources are for the tests that do block them
+            Consumer<Response> learnSize = response -> {
+                String contentLength = response.headerValue("content-length");
+                if (contentLength != null) {
+                    KNOWN_RESOURCE_SIZES.put(response.url(), Long.parseLong(contentLength));
+                }
+            };
+            browserContext.onResponse(learnSize);
+            extensionContext.getStore(NAMESPACE).put("learnSize", learnSize);
+            return;
+        }
+
+        Set<String> resourceTypes = Set.of(policy.get().resourceTypes());
+        BlockedRequests blocked = new BlockedRequests();
+        extensionContext.getStore(NAMESPACE).put(BlockedRequests.class, blocked);
+
+        for (String resourceType : resourceTypes) {
+            String glob = RESOURCE_TYPE_GLOBS.get(resourceType);
+            if (glob != null) {
+                browserContext.route(glob, route -> abortIf(resourceTypes.contains(route.request().resourceType()), route, blocked));
+            } else {
+                // No URL shape for this type, so every request has to be checked
+                browserContext.route("**/*", route -> abortIf(resourceType.equals(route.request().resourceType()), route, blocked));
+            }
+        }
+        for (String urlPattern : policy.get().urlPatterns()) {
+            browserContext.route(urlPattern, route -> abortIf(true, route, blocked));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void contextClosing(BrowserContext browserContext, ExtensionContext extensionContext) {
+        // Pooled contexts can be handed to another test, so leave no listeners behind
+        Consumer<Response> learnSize = extensionContext.getStore(NAMESPACE).remove("learnSize", Consumer.class);
+        if (learnSize != null) {
+            browserContext.offResponse(learnSize);
+        }
+        BlockedRequests blocked = extensionContext.getStore(NAMESPACE).remove(BlockedRequests.class, BlockedRequests.class);
+        if (blocked != null && blocked.requests.get() > 0) {
+            System.out.printf("Blocked %d request(s), ~%d KB, in %s%n",
+                    blocked.requests.get(), blocked.bytes.get() / 1024, extensionContext.getDisplayName());
+            totals(extensionContext).add(blocked);
+        }
+    }
+
+    private static void abortIf(boolean blocked, Route route, BlockedRequests blockedRequests) {
+        if (!blocked) {
+            route.fallback();
+            return;
+        }
+        Request request = route.request();
+        blockedRequests.requests.incrementAndGet();
+        blockedRequests.bytes.addAndGet(KNOWN_RESOURCE_SIZES.getOrDefault(request.url(), 0L));
+        route.abort("blockedbyclient");
+    }
+
+    static Optional<BlockResources> policyFor(ExtensionContext extensionContext) {
+        Optional<BlockResources> onMethod = extensionContext.getTestMethod()
+                .flatMap(method -> AnnotationSupport.findAnnotation(method, BlockResources.class));
+        if (onMethod.isPresent()) {
+            return onMethod;
+        }
+        for (Class<?> testClass = extensionContext.getRequiredTestClass(); testClass != null; testClass = testClass.getEnclosingClass()) {
+            Optional<BlockResources> onClass = AnnotationSupport.findAnnotation(testClass, BlockResources.class);
+            if (onClass.isPresent()) {
+                return onClass;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Totals totals(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Totals.class, type -> new Totals(), Totals.class);
+    }
+
+    private static class BlockedRequests {
+        final AtomicInteger requests = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+    }
+
+    private static class Totals implements ExtensionContext.Store.CloseableResource {
+        private final AtomicInteger tests = new AtomicInteger();
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+
+        void add(BlockedRequests blocked) {
+            tests.incrementAndGet();
+            requests.addAndGet(blocked.requests.get());
+            bytes.addAndGet(blocked.bytes.get());
+        }
+
+        @Override
+        public void close() {
+            System.out.printf("Resource blocking: %d request(s), ~%d KB, avoided across %d test(s)%n",
+                    requests.get(), bytes.get() / 1024, tests.get());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+
+@UseSharedBrowser
+@BlockResources
+public class SeededDataTest {
+
+    Page page;
+    TestDataSeeder seeder;
+
+    @BeforeEach
+    void setUp(Page page) {
+        this.page = page;
+        this.seeder = TestDataSeeder.using(page.request());
+    }
+
+    @DisplayName("A customer registered through the API can log in through the login page")
+    @Test
+    void registeredCustomerCanLogIn() {
+        var customer = seeder.scenario().withNewCustomer().seed().customer();
+
+        page.navigate("/auth/login");
+        page.getByTestId("email").fill(customer.email());
+        page.getByTestId("password").fill(customer.password());
+        page.getByTestId("login-submit").click();
+
+        assertThat(page.getByTestId("page-title")).hasText("My account");
+    }
+
+    @DisplayName("A seeded customer can start the test already logged in")
+    @Test
+    void seededCustomerStartsLoggedIn(BrowserContext context) {
+        var customer = seeder.scenario().withNewCustomer().seed().customer();
+        customer.signIn(context);
+
+        page.navigate("/account");
+
+        assertThat(page.getByTestId("page-title")).hasText("My account");
+        assertThat(page.getByTestId("nav-menu")).hasText("Jovan Aleksic");
+    }
+
+    @DisplayName("A whole order can be seeded in one go")
+    @Test
+    void seedsAnOrder() {
+        var scenario = seeder.scenario()
+                .withNewCustomer()
+                .withProductInCart("Combination Pliers", 2)
+                .withProductInCart("Thor Hammer", 1)
+                .withOrderPlaced()
+                .seed();
+
+        Assertions.assertThat(scenario.cart().lines()).hasSize(2);
+        Assertions.assertThat(scenario.order().invoiceNumber()).isNotBlank();
+        Assertions.assertThat(scenario.order().total()).isPositive();
+    }
+}
@@ -0,0 +1,185 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.RequestOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs in once per user role and keeps the resulting BrowserContext storage state under target/auth-state,
+ * so that authenticated tests can start from it instead of walking through the login form.
+ * <p>
+ * Entries expire after -Dplaywright.auth.ttl minutes (30 by default), or a minute before the token itself
+ * expires if that is sooner, and are ignored when the target application changes.
+ * Run with -Dplaywright.auth.refresh=true to log in again regardless.
+ */
+public class SessionCache {
+
+    public enum LoginMethod { API, UI }
+
+    private static final Path CACHE_DIR = Paths.get("target", "auth-state");
+    private static final Map<UserRole, Object> LOCKS = new ConcurrentHashMap<>();
+
+    // The Toolshop front end keeps the JWT from /users/login in local storage under this key
+    private static final String AUTH_TOKEN_KEY = "auth-token";
+
+    // Leaves a test that starts with a cached token time to use it
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
+
+    /**
+     * Returns a storage state file for the role, logging in first if there is no valid cached one.
+     */
+    public static Path storageStateFor(UserRole role, LoginMethod loginMethod, Browser browser) {
+        synchronized (LOCKS.computeIfAbsent(role, key -> new Object())) {
+            Path stateFile = stateFileFor(role);
+            if (!isValid(stateFile)) {
+                long start = System.nanoTime();
+                if (loginMethod == LoginMethod.API) {
+                    logInThroughTheApi(role, browser, stateFile);
+                } else {
+                    logInThroughTheLoginPage(role, browser, stateFile);
+                }
+                System.out.printf("Logged in as %s through the %s in %d ms%n",
+                        role.key(), loginMethod, (System.nanoTime() - start) / 1_000_000);
+            }
+            return stateFile;
+        }
+    }
+
+    public static void invalidate(UserRole role) {
+        synchronized (LOCKS.computeIfAbsent(role, key -> new Object())) {
+            try {
+                Files.deleteIfExists(stateFileFor(role));
+                Files.deleteIfExists(expiryFileFor(stateFileFor(role)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static void invalidateAll() {
+        for (UserRole role : UserRole.values()) {
+            invalidate(role);
+        }
+    }
+
+    static Path stateFileFor(UserRole role) {
+        // Keep the states of different targets apart, e.g. the live site and the stub
+        String target = Toolshop.baseUrl().replaceAll("^https?://", "").replaceAll("[^\\w.-]", "_");
+        return CACHE_DIR.resolve(target).resolve(role.key() + ".json");
+    }
+
+    private static Path expiryFileFor(Path stateFile) {
+        return stateFile.resolveSibling(stateFile.getFileName().toString().replace(".json", ".expires"));
+    }
+
+    private static boolean isValid(Path stateFile) {
+        Path expiryFile = expiryFileFor(stateFile);
+        if (Boolean.getBoolean("playwright.auth.refresh") || !Files.exists(stateFile) || !Files.exists(expiryFile)) {
+            return false;
+        }
+        try {
+            return Instant.parse(Files.readString(expiryFile).trim()).isAfter(Instant.now());
+        } catch (IOException | DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * When a session logged in now should stop being reused: at the end of its time to live,
+     * or a margin before the token expires, whichever comes first.
+     */
+    static Instant expiryOf(Instant loggedInAt, Duration timeToLive, Duration tokenLifetime) {
+        Duration trusted = tokenLifetime.minus(EXPIRY_MARGIN);
+        return loggedInAt.plus(trusted.compareTo(timeToLive) < 0 ? trusted : timeToLive);
+    }
+
+    private static void saveExpiry(Path stateFile, Instant loggedInAt, String loginResponse) {
+        Duration timeToLive = Duration.ofMinutes(Long.getLong("playwright.auth.ttl", 30));
+        JsonObject body = JsonParser.parseString(loginResponse).getAsJsonObject();
+        Duration tokenLifetime = body.has("expires_in") ? Duration.ofSeconds(body.get("expires_in").getAsLong()) : timeToLive;
+        write(expiryFileFor(stateFile), expiryOf(loggedInAt, timeToLive, tokenLifetime).toString());
+    }
+
+    private static void logInThroughTheApi(UserRole role, Browser browser, Path stateFile) {
+        try (BrowserContext context = browser.newContext()) {
+            Instant loggedInAt = Instant.now();
+            APIResponse response = context.request().post(Toolshop.apiUrl() + "/users/login",
+                    RequestOptions.create().setData(Map.of("email", role.email(), "password", role.password())));
+            if (!response.ok()) {
+                throw new IllegalStateException("Could not log in as " + role.email() + ": " + response.status() + " " + response.text());
+            }
+            String token = JsonParser.parseString(response.text()).getAsJsonObject().get("access_token").getAsString();
+            write(stateFile, storageStateWithToken(token).toString());
+            saveExpiry(stateFile, loggedInAt, response.text());
+        }
+    }
+
+    private static void logInThroughTheLoginPage(UserRole role, Browser browser, Path stateFile) {
+        try (BrowserContext context = browser.newContext(new Browser.NewContextOptions().setBaseURL(Toolshop.baseUrl()))) {
+            Page page = context.newPage();
+            page.navigate("/auth/login");
+            page.locator("[data-test=email]").fill(role.email());
+            page.locator("[data-test=password]").fill(role.password());
+            Instant loggedInAt = Instant.now();
+            Response login = page.waitForResponse(response -> response.url().endsWith("/users/login"),
+                    () -> page.locator("[data-test=login-submit]").click());
+            page.waitForURL("**/account");
+            createParentDirectory(stateFile);
+            context.storageState(new BrowserContext.StorageStateOptions().setPath(stateFile));
+            saveExpiry(stateFile, loggedInAt, login.text());
+        }
+    }
+
+    private static JsonObject storageStateWithToken(String token) {
+        JsonObject tokenEntry = new JsonObject();
+        tokenEntry.addProperty("name", AUTH_TOKEN_KEY);
+        tokenEntry.addProperty("value", token);
+        JsonArray localStorage = new JsonArray();
+        localStorage.add(tokenEntry);
+
+        JsonObject origin = new JsonObject();
+        origin.addProperty("origin", Toolshop.baseUrl());
+        origin.add("localStorage", localStorage);
+        JsonArray origins = new JsonArray();
+        origins.add(origin);
+
+        JsonObject storageState = new JsonObject();
+        storageState.add("cookies", new JsonArray());
+        storageState.add("origins", origins);
+        return storageState;
+    }
+
+    private static void write(Path stateFile, String content) {
+        try {
+            createParentDirectory(stateFile);
+            Files.writeString(stateFile, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void createParentDirectory(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.junit.OptionsFactory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Launches one Playwright/Browser per worker thread and keeps it for the whole test run.
+ * Tests get a fresh BrowserContext and Page injected as parameters, exactly like @UsePlaywright,
+ * and data-driven tests can run their cases side by side with an injected {@link ParallelCases}.
+ * The invocations of a {@link CrossBrowserTest} each get an engine of the browser they run on.
+ */
+public class SharedBrowserExtension implements ParameterResolver, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedBrowserExtension.class);
+    private static final List<Class<?>> SUPPORTED_TYPES = List.of(Playwright.class, Browser.class, BrowserContext.class, Page.class, ParallelCases.class);
+
+    private static final ThreadLocal<Map<BrowserEngine.Key, BrowserEngine>> ENGINES = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return SUPPORTED_TYPES.contains(parameterContext.getParameter().getType());
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        if (type == Playwright.class) {
+            return engineFor(extensionContext).playwright();
+        }
+        if (type == Browser.class) {
+            return engineFor(extensionContext).browser();
+        }
+        if (type == ParallelCases.class) {
+            return new ParallelCases(engineFor(extensionContext));
+        }
+        if (extensionContext.getTestMethod().isEmpty()) {
+            throw new ParameterResolutionException(type.getSimpleName() + " can only be injected into test methods and @BeforeEach/@AfterEach methods");
+        }
+        TestSession session = sessionFor(extensionContext);
+        return (type == Page.class) ? session.page() : session.context();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext extensionContext) {
+        TestSession session = extensionContext.getStore(NAMESPACE).remove("session", TestSession.class);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    /**
+     * The browser of the current worker thread, for hooks that need to do work of their own before the test starts.
+     */
+    public static Browser browserFor(ExtensionContext extensionContext) {
+        return engineFor(extensionContext).browser();
+    }
+
+    /**
+     * Closes the context after the current test instead of putting it back in the pool,
+     * for changes the pool can't undo, such as init scripts or page routes.
+     */
+    public static void doNotReuse(BrowserContext context) {
+        ContextPool.doNotReuse(context);
+    }
+
+    /**
+     * Adds a hook to the BrowserContext of the current test. Call this from a BeforeEachCallback,
+     * before the test's context has been created.
+     */
+    public static void registerHook(ExtensionContext extensionContext, BrowserContextHook hook) {
+        hooksFor(extensionContext).add(hook);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BrowserContextHook> hooksFor(ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).getOrComputeIfAbsent("hooks", key -> new ArrayList<>(), List.class);
+    }
+
+    private static TestSession sessionFor(ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).getOrComputeIfAbsent("session",
+                key -> new TestSession(engineFor(extensionContext), hooksFor(extensionContext), extensionContext),
+                TestSession.class);
+    }
+
+    private static BrowserEngine engineFor(ExtensionContext extensionContext) {
+        return ENGINES.get().computeIfAbsent(engineKeyFor(extensionContext), key -> launch(key, extensionContext));
+    }
+
+    private static BrowserEngine.Key engineKeyFor(ExtensionContext extensionContext) {
+        return new BrowserEngine.Key(optionsFactoryFor(extensionContext), CrossBrowserExtension.browserFor(extensionContext).orElse(null));
+    }
+
+    private static BrowserEngine launch(BrowserEngine.Key key, ExtensionContext extensionContext) {
+        OptionsFactory optionsFactory = instantiate(key.factoryType());
+        if (key.browserName() != null) {
+            optionsFactory = CrossBrowserExtension.launching(key.browserName(), optionsFactory);
+        }
+        BrowserEngine engine = BrowserEngine.launch(optionsFactory);
+        registry(extensionContext).add(engine);
+        return engine;
+    }
+
+    private static Class<? extends OptionsFactory> optionsFactoryFor(ExtensionContext extensionContext) {
+        // Nested test classes inherit the configuration of their enclosing class
+        for (Class<?> testClass = extensionContext.getRequiredTestClass(); testClass != null; testClass = testClass.getEnclosingClass()) {
+            var annotation = AnnotationSupport.findAnnotation(testClass, UseSharedBrowser.class);
+            if (annotation.isPresent()) {
+                return annotation.get().value();
+            }
+        }
+        return HeadlessChromeOptions.class;
+    }
+
+    private static OptionsFactory instantiate(Class<? extends OptionsFactory> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create options factory " + type.getName(), e);
+        }
+    }
+
+    private static EngineRegistry registry(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(EngineRegistry.class, type -> new EngineRegistry(), EngineRegistry.class);
+    }
+
+    private static class TestSession {
+        private final BrowserEngine engine;
+        private final List<BrowserContextHook> hooks;
+        private final ExtensionContext extensionContext;
+        private BrowserContext context;
+        private Page page;
+        private boolean reusable;
+
+        TestSession(BrowserEngine engine, List<BrowserContextHook> hooks, ExtensionContext extensionContext) {
+            this.engine = engine;
+            this.hooks = hooks;
+            this.extensionContext = extensionContext;
+        }
+
+        BrowserContext context() {
+            if (context == null) {
+                reusable = hooks.stream().allMatch(hook -> hook.acceptsPooledContext(extensionContext));
+                var warm = reusable ? engine.pool().take() : Optional.<ContextPool.WarmContext>empty();
+                if (warm.isPresent()) {
+                    context = warm.get().context();
+                    page = warm.get().page();
+                } else {
+                    context = engine.newContext(options -> hooks.forEach(hook -> hook.configure(options, extensionContext)));
+                }
+                hooks.forEach(hook -> hook.contextCreated(context, extensionContext));
+            }
+            return context;
+        }
+
+        Page page() {
+            if (page == null) {
+                page = context().newPage();
+            }
+            return page;
+        }
+
+        void close() {
+            if (context == null) {
+                return;
+            }
+            // Every hook gets to clean up, and the context is given back, even when an earlier hook fails
+            RuntimeException failure = null;
+            try {
+                for (BrowserContextHook hook : hooks) {
+                    try {
+                        hook.contextClosing(context, extensionContext);
+                    } catch (RuntimeException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            } finally {
+                // A context a hook failed to clean up is closed rather than handed to the next test
+                engine.pool().release(context, reusable && failure == null);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Lives in the root extension context, so JUnit closes it once every test in the run has finished.
+     */
+    private static class EngineRegistry implements ExtensionContext.Store.CloseableResource {
+        private final Queue<BrowserEngine> engines = new ConcurrentLinkedQueue<>();
+
+        void add(BrowserEngine engine) {
+            engines.add(engine);
+        }
+
+        @Override
+        public void close() {
+            long launchMillis = 0;
+            int contextsServed = 0;
+            for (BrowserEngine engine : engines) {
+                launchMillis += engine.launchMillis();
+                contextsServed += engine.contextsServed();
+                engine.close();
+            }
+            if (engines.isEmpty()) {
+                return;
+            }
+            long averageLaunch = launchMillis / engines.size();
+            long savedMillis = Math.max(0, contextsServed - engines.size()) * averageLaunch;
+            System.out.printf("Shared browser: %d browser launch(es) took %d ms, served %d contexts, saved ~%d ms of launch time%n",
+                    engines.size(), launchMillis, contextsServed, savedMillis);
+
+            Map<String, List<BrowserEngine>> byBrowser = engines.stream()
+                    .collect(Collectors.groupingBy(BrowserEngine::browserName, TreeMap::new, Collectors.toList()));
+            if (byBrowser.size() > 1) {
+                byBrowser.forEach((browserName, launched) -> System.out.printf("  %-8s %d launch(es), avg %d ms, served %d contexts%n",
+                        browserName, launched.size(),
+                        launched.stream().mapToLong(BrowserEngine::launchMillis).sum() / launched.size(),
+                        launched.stream().mapToInt(BrowserEngine::contextsServed).sum()));
+            }
+        }
+    }
+}
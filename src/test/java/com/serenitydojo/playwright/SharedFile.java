@@ -0,0 +1,39 @@
+package com.serenitydojo.playwright;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * A history file that shards running side by side on the same machine update together,
+ * such as the test durations, the flake history and the test impact index.
+ */
+public class SharedFile {
+
+    /**
+     * Replaces the file with the given content while holding a lock on it, so the content can be built from
+     * what the other shards have written so far. Readers see either the old or the new file, never half of one.
+     *
+     * @param description what the file holds, for the error message
+     */
+    public static void update(Path file, String description, Supplier<String> content) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Released when the channel is closed
+                channel.lock();
+                Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.writeString(temporary, content.get());
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not update the " + description + " in " + file, e);
+        }
+    }
+}
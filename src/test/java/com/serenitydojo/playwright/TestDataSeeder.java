@@ -0,0 +1,230 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.RequestOptions;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates customers, carts and orders through the Toolshop REST API (or the stub, see {@link Toolshop}),
+ * so tests can start from the state they need instead of building it up through the UI.
+ * <pre>
+ * SeededScenario scenario = TestDataSeeder.using(page.request())
+ *         .scenario()
+ *         .withNewCustomer()
+ *         .withProductInCart("Combination Pliers", 2)
+ *         .withOrderPlaced()
+ *         .seed();
+ * </pre>
+ */
+public class TestDataSeeder {
+
+    public record NewCustomer(String firstName, String lastName, String dob, String street, String postalCode,
+                              String city, String state, String country, String phone, String email, String password) {
+
+        /**
+         * A customer with a unique email address, so it can be registered on the live site more than once.
+         */
+        public static NewCustomer random() {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            return new NewCustomer("Jovan", "Aleksic", "1986-03-24", "Street 123", "12345", "Kovacica",
+                    "Vojvodina", "RS", "1234567890", "customer-" + suffix + "@example.com", "Aa234567890$");
+        }
+    }
+
+    public record Customer(String email, String password, String token) {
+
+        /**
+         * Starts every page of the context logged in as this customer.
+         */
+        public void signIn(BrowserContext context) {
+            context.addInitScript("window.localStorage.setItem('auth-token', '" + token + "')");
+            SharedBrowserExtension.doNotReuse(context);
+        }
+    }
+
+    public record CartLine(String productId, String productName, int quantity) {}
+
+    public record Cart(String id, List<CartLine> lines) {}
+
+    public record Order(String id, String invoiceNumber, double total) {}
+
+    public record SeededScenario(Customer customer, Cart cart, Order order) {}
+
+    // Product ids never change during a run, so look each name up only once
+    private static final Map<String, String> PRODUCT_IDS = new ConcurrentHashMap<>();
+
+    private final APIRequestContext request;
+    private final String apiUrl;
+
+    private TestDataSeeder(APIRequestContext request, String apiUrl) {
+        this.request = request;
+        this.apiUrl = apiUrl;
+    }
+
+    /**
+     * Seeds data with the given request context, e.g. page.request(), against the current Toolshop target.
+     */
+    public static TestDataSeeder using(APIRequestContext request) {
+        return new TestDataSeeder(request, Toolshop.apiUrl());
+    }
+
+    public ScenarioBuilder scenario() {
+        return new ScenarioBuilder();
+    }
+
+    public Customer registerCustomer(NewCustomer customer) {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", customer.street());
+        address.put("postal_code", customer.postalCode());
+        address.put("city", customer.city());
+        address.put("state", customer.state());
+        address.put("country", customer.country());
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("first_name", customer.firstName());
+        details.put("last_name", customer.lastName());
+        details.put("dob", customer.dob());
+        details.put("address", address);
+        details.put("phone", customer.phone());
+        details.put("email", customer.email());
+        details.put("password", customer.password());
+
+        post("/users/register", details, null);
+        return logIn(customer.email(), customer.password());
+    }
+
+    public Customer logIn(UserRole role) {
+        return logIn(role.email(), role.password());
+    }
+
+    public Customer logIn(String email, String password) {
+        JsonObject response = post("/users/login", Map.of("email", email, "password", password), null).getAsJsonObject();
+        return new Customer(email, password, response.get("access_token").getAsString());
+    }
+
+    public String productIdNamed(String productName) {
+        return PRODUCT_IDS.computeIfAbsent(apiUrl + "|" + productName, key -> {
+            JsonObject results = get("/products/search?q=" + URLEncoder.encode(productName, StandardCharsets.UTF_8)).getAsJsonObject();
+            return results.getAsJsonArray("data").asList().stream()
+                    .map(JsonElement::getAsJsonObject)
+                    .filter(product -> product.get("name").getAsString().equals(productName))
+                    .map(product -> product.get("id").getAsString())
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No product called " + productName + " at " + apiUrl));
+        });
+    }
+
+    /**
+     * Creates a cart holding the given quantities, keyed by product name.
+     */
+    public Cart createCart(Map<String, Integer> quantitiesByProductName) {
+        String cartId = post("/carts", Map.of(), null).getAsJsonObject().get("id").getAsString();
+        List<CartLine> lines = new ArrayList<>();
+        quantitiesByProductName.forEach((productName, quantity) -> {
+            String productId = productIdNamed(productName);
+            post("/carts/" + cartId, Map.of("product_id", productId, "quantity", quantity), null);
+            lines.add(new CartLine(productId, productName, quantity));
+        });
+        return new Cart(cartId, List.copyOf(lines));
+    }
+
+    public Order placeOrder(Customer customer, Cart cart) {
+        Map<String, Object> invoice = new LinkedHashMap<>();
+        invoice.put("cart_id", cart.id());
+        invoice.put("billing_street", "Street 123");
+        invoice.put("billing_city", "Kovacica");
+        invoice.put("billing_state", "Vojvodina");
+        invoice.put("billing_country", "Serbia");
+        invoice.put("billing_postal_code", "12345");
+        invoice.put("payment_method", "cash-on-delivery");
+        invoice.put("payment_details", Map.of());
+
+        JsonObject response = post("/invoices", invoice, customer.token()).getAsJsonObject();
+        return new Order(response.get("id").getAsString(), response.get("invoice_number").getAsString(),
+                response.get("total").getAsDouble());
+    }
+
+    private JsonElement get(String path) {
+        return parse("GET", path, request.get(apiUrl + path));
+    }
+
+    private JsonElement post(String path, Object body, String token) {
+        RequestOptions options = RequestOptions.create().setData(body);
+        if (token != null) {
+            options.setHeader("Authorization", "Bearer " + token);
+        }
+        return parse("POST", path, request.post(apiUrl + path, options));
+    }
+
+    private static JsonElement parse(String method, String path, APIResponse response) {
+        if (!response.ok()) {
+            throw new IllegalStateException(method + " " + path + " failed with " + response.status() + ": " + response.text());
+        }
+        return JsonParser.parseString(response.text());
+    }
+
+    /**
+     * Collects the fixtures a test needs and creates them together in {@link #seed()}.
+     */
+    public class ScenarioBuilder {
+        private NewCustomer newCustomer;
+        private UserRole existingUser;
+        private final Map<String, Integer> cartContents = new LinkedHashMap<>();
+        private boolean placeOrder;
+
+        public ScenarioBuilder withNewCustomer() {
+            return withNewCustomer(NewCustomer.random());
+        }
+
+        public ScenarioBuilder withNewCustomer(NewCustomer customer) {
+            this.newCustomer = customer;
+            this.existingUser = null;
+            return this;
+        }
+
+        public ScenarioBuilder withExistingUser(UserRole role) {
+            this.existingUser = role;
+            this.newCustomer = null;
+            return this;
+        }
+
+        public ScenarioBuilder withProductInCart(String productName, int quantity) {
+            cartContents.merge(productName, quantity, Integer::sum);
+            return this;
+        }
+
+        public ScenarioBuilder withOrderPlaced() {
+            this.placeOrder = true;
+            return this;
+        }
+
+        public SeededScenario seed() {
+            long start = System.nanoTime();
+            Customer customer = (newCustomer != null) ? registerCustomer(newCustomer)
+                    : (existingUser != null) ? logIn(existingUser) : null;
+            Cart cart = cartContents.isEmpty() ? null : createCart(cartContents);
+            Order order = null;
+            if (placeOrder) {
+                if (customer == null || cart == null) {
+                    throw new IllegalStateException("Placing an order needs a customer and at least one product in the cart");
+                }
+                order = placeOrder(customer, cart);
+            }
+            System.out.printf("Seeded test data in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+            return new SeededScenario(customer, cart, order);
+        }
+    }
+}
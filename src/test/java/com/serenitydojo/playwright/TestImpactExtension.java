@@ -0,0 +1,49 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.BrowserContext;
+import com.serenitydojo.playwright.impact.TestImpact;
+import com.serenitydojo.playwright.impact.TestImpactRecorder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Records the pages, API calls, mocked routes and page object selectors of every test into the test impact index,
+ * see {@link com.serenitydojo.playwright.impact.TestImpactFilter}.
+ */
+public class TestImpactExtension implements BeforeEachCallback, AfterEachCallback, BrowserContextHook {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestImpactExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        TestImpact.Usage usage = recorder(extensionContext).start(TestTimingExtension.testId(extensionContext));
+        extensionContext.getStore(NAMESPACE).put(TestImpact.Usage.class, usage);
+        SharedBrowserExtension.registerHook(extensionContext, this);
+    }
+
+    @Override
+    public void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+        TestImpact.Usage usage = extensionContext.getStore(NAMESPACE).get(TestImpact.Usage.class, TestImpact.Usage.class);
+        extensionContext.getStore(NAMESPACE).put("unwatch", usage.watch(browserContext));
+    }
+
+    @Override
+    public void contextClosing(BrowserContext browserContext, ExtensionContext extensionContext) {
+        // Pooled contexts can be handed to another test, so leave no listeners behind
+        Runnable unwatch = extensionContext.getStore(NAMESPACE).remove("unwatch", Runnable.class);
+        if (unwatch != null) {
+            unwatch.run();
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext extensionContext) {
+        TestImpactRecorder.finish();
+    }
+
+    private static TestImpactRecorder recorder(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(TestImpactRecorder.class, type -> new TestImpactRecorder(), TestImpactRecorder.class);
+    }
+}
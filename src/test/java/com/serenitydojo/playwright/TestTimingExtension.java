@@ -0,0 +1,186 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Times the phases of every test: setup (including @BeforeEach methods), context creation, page navigations,
+ * network requests, the waits in {@link WaitTimings}, and the test body. See {@link TestTimings} for the report.
+ * <p>
+ * Run with -Dtest.timings.baseline=[earlier test-timings.json] to fail any test whose body takes longer than
+ * the earlier p95 of its body times -Dtest.timings.tolerance (1.5 by default) plus -Dtest.timings.slack.ms (500 by default).
+ */
+public class TestTimingExtension implements BeforeEachCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback,
+        AfterEachCallback, BrowserContextHook {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestTimingExtension.class);
+    private static final Path REPORT_DIR = Paths.get("target");
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Report.class, type -> new Report(), Report.class);
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        store.put("timer", TestTimings.start(timingId(extensionContext)));
+        store.put("testStart", System.nanoTime());
+        SharedBrowserExtension.registerHook(extensionContext, this);
+    }
+
+    @Override
+    public void configure(Browser.NewContextOptions options, ExtensionContext extensionContext) {
+        extensionContext.getStore(NAMESPACE).put("contextStart", System.nanoTime());
+    }
+
+    @Override
+    public void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+        TestTimings.TestTimer timer = timer(extensionContext);
+        Long contextStart = extensionContext.getStore(NAMESPACE).remove("contextStart", Long.class);
+        if (contextStart != null) {
+            timer.record("context creation", System.nanoTime() - contextStart);
+        }
+        PageListeners listeners = new PageListeners(browserContext, timer);
+        extensionContext.getStore(NAMESPACE).put(PageListeners.class, listeners);
+    }
+
+    @Override
+    public void contextClosing(BrowserContext browserContext, ExtensionContext extensionContext) {
+        PageListeners listeners = extensionContext.getStore(NAMESPACE).remove(PageListeners.class, PageListeners.class);
+        if (listeners != null) {
+            listeners.remove();
+        }
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext extensionContext) {
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        timer(extensionContext).record("setup", System.nanoTime() - store.get("testStart", Long.class));
+        store.put("bodyStart", System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext extensionContext) {
+        long bodyNanos = System.nanoTime() - extensionContext.getStore(NAMESPACE).get("bodyStart", Long.class);
+        timer(extensionContext).record(TestTimings.BODY, bodyNanos);
+        checkForRegression(extensionContext, bodyNanos);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext extensionContext) {
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        TestTimings.TestTimer timer = store.remove("timer", TestTimings.TestTimer.class);
+        if (timer != null) {
+            TestTimings.finish(timer, System.nanoTime() - store.get("testStart", Long.class));
+        }
+    }
+
+    private static void checkForRegression(ExtensionContext extensionContext, long bodyNanos) {
+        // A test that has already failed doesn't need a second failure for being slow
+        String baseline = System.getProperty("test.timings.baseline");
+        if (baseline == null || extensionContext.getExecutionException().isPresent()) {
+            return;
+        }
+        double tolerance = Double.parseDouble(System.getProperty("test.timings.tolerance", "1.5"));
+        long slackMillis = Long.getLong("test.timings.slack.ms", 500);
+        TestTimings.baselineBodyP95Millis(Path.of(baseline), timingId(extensionContext)).ifPresent(p95 -> {
+            double limitMillis = p95 * tolerance + slackMillis;
+            double tookMillis = bodyNanos / 1_000_000.0;
+            if (tookMillis > limitMillis) {
+                throw new AssertionError(String.format("%s took %.0f ms, over its limit of %.0f ms (baseline body p95 %.0f ms)",
+                        extensionContext.getDisplayName(), tookMillis, limitMillis, p95));
+            }
+        });
+    }
+
+    /**
+     * Times the navigations and requests of a context. The listeners are removed when the test ends,
+     * as a pooled context can go on to serve another test.
+     */
+    private static class PageListeners {
+        private final BrowserContext context;
+        private final TestTimings.TestTimer timer;
+        private final Map<Page, Long> navigationStarts = new HashMap<>();
+        private final Consumer<Request> navigationStarted;
+        private final Consumer<Page> pageLoaded;
+        private final Consumer<Page> pageOpened;
+        private final Consumer<Request> requestFinished;
+
+        PageListeners(BrowserContext context, TestTimings.TestTimer timer) {
+            this.context = context;
+            this.timer = timer;
+            this.navigationStarted = request -> {
+                if (request.isNavigationRequest() && request.frame().parentFrame() == null) {
+                    navigationStarts.put(request.frame().page(), System.nanoTime());
+                }
+            };
+            this.pageLoaded = page -> {
+                Long start = navigationStarts.remove(page);
+                if (start != null) {
+                    timer.record("navigation", System.nanoTime() - start);
+                }
+            };
+            this.pageOpened = this::listenTo;
+            this.requestFinished = request -> {
+                double responseEnd = request.timing().responseEnd;
+                if (responseEnd >= 0) {
+                    timer.record("request: " + request.resourceType(), (long) (responseEnd * 1_000_000));
+                }
+            };
+
+            // A pooled context already has its page open
+            context.pages().forEach(this::listenTo);
+            context.onPage(pageOpened);
+            context.onRequest(navigationStarted);
+            context.onRequestFinished(requestFinished);
+        }
+
+        private void listenTo(Page page) {
+            page.onLoad(pageLoaded);
+        }
+
+        void remove() {
+            context.offPage(pageOpened);
+            context.offRequest(navigationStarted);
+            context.offRequestFinished(requestFinished);
+            context.pages().forEach(page -> page.offLoad(pageLoaded));
+        }
+    }
+
+    private static TestTimings.TestTimer timer(ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get("timer", TestTimings.TestTimer.class);
+    }
+
+    static String testId(ExtensionContext extensionContext) {
+        return extensionContext.getRequiredTestClass().getName() + "#" + extensionContext.getRequiredTestMethod().getName();
+    }
+
+    /**
+     * The test id, tagged with the browser for a {@link CrossBrowserTest}, so each browser is reported on its own.
+     */
+    private static String timingId(ExtensionContext extensionContext) {
+        return CrossBrowserExtension.browserFor(extensionContext)
+                .map(browserName -> testId(extensionContext) + " [" + browserName + "]")
+                .orElse(testId(extensionContext));
+    }
+
+    /**
+     * Lives in the root extension context, so the report is written once every test in the run has finished.
+     */
+    private static class Report implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            TestTimings.writeReport(REPORT_DIR);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Collects the time spent in each phase of each test, for tests run with {@link TestTimingExtension}.
+ * Tests can time phases of their own, e.g. {@code TestTimings.phase("assertions", () -> ...)}.
+ * <p>
+ * The report goes to target/test-timings.json and target/test-timings.csv, with p50/p95/p99 per test and per phase.
+ */
+public class TestTimings {
+
+    static final String BODY = "test body";
+
+    private static final ThreadLocal<TestTimer> CURRENT = new ThreadLocal<>();
+    private static final Map<String, Collection<Long>> TEST_SAMPLES = new ConcurrentHashMap<>();
+    private static final Map<String, Collection<Long>> PHASE_SAMPLES = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, Collection<Long>>> PHASES_BY_TEST = new ConcurrentHashMap<>();
+
+    /**
+     * The phases of one test, in nanoseconds.
+     */
+    static class TestTimer {
+        private final String testId;
+        private final Map<String, Long> phaseTotals = new LinkedHashMap<>();
+
+        TestTimer(String testId) {
+            this.testId = testId;
+        }
+
+        synchronized void record(String phase, long nanos) {
+            phaseTotals.merge(phase, nanos, Long::sum);
+            PHASE_SAMPLES.computeIfAbsent(phase, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+        }
+
+        synchronized Map<String, Long> phaseTotals() {
+            return new LinkedHashMap<>(phaseTotals);
+        }
+
+        String testId() {
+            return testId;
+        }
+    }
+
+    public static <T> T phase(String phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public static void phase(String phase, Runnable action) {
+        phase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Adds to a phase of the test running on this thread, if it is being timed.
+     */
+    public static void record(String phase, long nanos) {
+        TestTimer timer = CURRENT.get();
+        if (timer != null) {
+            timer.record(phase, nanos);
+        }
+    }
+
+    static TestTimer start(String testId) {
+        TestTimer timer = new TestTimer(testId);
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    static void finish(TestTimer timer, long testNanos) {
+        CURRENT.remove();
+        TEST_SAMPLES.computeIfAbsent(timer.testId(), key -> new ConcurrentLinkedQueue<>()).add(testNanos);
+        Map<String, Collection<Long>> phases = PHASES_BY_TEST.computeIfAbsent(timer.testId(), key -> new ConcurrentHashMap<>());
+        timer.phaseTotals().forEach((phase, nanos) -> phases.computeIfAbsent(phase, key -> new ConcurrentLinkedQueue<>()).add(nanos));
+    }
+
+    /**
+     * The p95 of a test's body in an earlier report, used to spot tests that have become slower.
+     */
+    static Optional<Double> baselineBodyP95Millis(Path baseline, String testId) {
+        return Baseline.load(baseline).map(tests -> tests.get(testId));
+    }
+
+    static long percentile(List<Long> sortedSamples, double percentile) {
+        if (sortedSamples.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedSamples.size());
+        return sortedSamples.get(Math.max(0, rank - 1));
+    }
+
+    static void writeReport(Path directory) {
+        if (TEST_SAMPLES.isEmpty()) {
+            return;
+        }
+        JsonArray tests = new JsonArray();
+        JsonArray phases = new JsonArray();
+        StringBuilder csv = new StringBuilder("scope,name,count,total_ms,p50_ms,p95_ms,p99_ms,max_ms\n");
+
+        new TreeMap<>(TEST_SAMPLES).forEach((testId, samples) -> {
+            JsonObject test = stats("test", testId, samples);
+            JsonObject phaseTotals = new JsonObject();
+            new TreeMap<>(PHASES_BY_TEST.getOrDefault(testId, Map.of())).forEach((phase, phaseSamples) ->
+                    phaseTotals.add(phase, stats("phase", phase, phaseSamples)));
+            test.add("phases", phaseTotals);
+            tests.add(test);
+            csv.append(csvLine("test", testId, samples));
+        });
+        new TreeMap<>(PHASE_SAMPLES).forEach((phase, samples) -> {
+            phases.add(stats("phase", phase, samples));
+            csv.append(csvLine("phase", phase, samples));
+        });
+
+        JsonObject report = new JsonObject();
+        report.add("tests", tests);
+        report.add("phases", phases);
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("test-timings.json"), new GsonBuilder().setPrettyPrinting().create().toJson(report));
+            Files.writeString(directory.resolve("test-timings.csv"), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.printf("Test timings: %d test(s), %d phase(s), written to %s%n",
+                tests.size(), phases.size(), directory.resolve("test-timings.json"));
+    }
+
+    private static JsonObject stats(String scope, String name, Collection<Long> samples) {
+        List<Long> sorted = samples.stream().sorted().toList();
+        JsonObject stats = new JsonObject();
+        stats.addProperty(scope, name);
+        stats.addProperty("count", sorted.size());
+        stats.addProperty("total_ms", millis(sorted.stream().mapToLong(Long::longValue).sum()));
+        stats.addProperty("p50_ms", millis(percentile(sorted, 50)));
+        stats.addProperty("p95_ms", millis(percentile(sorted, 95)));
+        stats.addProperty("p99_ms", millis(percentile(sorted, 99)));
+        stats.addProperty("max_ms", millis(sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1)));
+        return stats;
+    }
+
+    private static String csvLine(String scope, String name, Collection<Long> samples) {
+        JsonObject stats = stats(scope, name, samples);
+        return String.format("%s,\"%s\",%d,%s,%s,%s,%s,%s%n", scope, name.replace("\"", "\"\""),
+                stats.get("count").getAsInt(), stats.get("total_ms"), stats.get("p50_ms"),
+                stats.get("p95_ms"), stats.get("p99_ms"), stats.get("max_ms"));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * The p95 of the body of every test in an earlier report, loaded once per run. The test's own p95 covers
+     * its setup and context creation too, so it would hide a slower body.
+     */
+    private static class Baseline {
+        private static final Map<Path, Map<String, Double>> LOADED = new ConcurrentHashMap<>();
+
+        static Optional<Map<String, Double>> load(Path baseline) {
+            if (!Files.exists(baseline)) {
+                return Optional.empty();
+            }
+            return Optional.of(LOADED.computeIfAbsent(baseline, path -> {
+                try {
+                    Map<String, Double> p95s = new ConcurrentHashMap<>();
+                    JsonObject report = JsonParser.parseString(Files.readString(path)).getAsJsonObject();
+                    for (JsonElement element : report.getAsJsonArray("tests")) {
+                        JsonObject test = element.getAsJsonObject();
+                        JsonObject phases = test.getAsJsonObject("phases");
+                        if (phases != null && phases.has(BODY)) {
+                            p95s.put(test.get("test").getAsString(), phases.getAsJsonObject(BODY).get("p95_ms").getAsDouble());
+                        }
+                    }
+                    return p95s;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.serenitydojo.playwright;
+
+import com.serenitydojo.playwright.stub.ToolshopStubServer;
+
+/**
+ * Where the application under test lives.
+ * Tests run against the live site by default; run with -Dtoolshop.target=stub to use the local ToolshopStubServer instead.
+ */
+public class Toolshop {
+
+    public static final String LIVE_URL = "https://practicesoftwaretesting.com";
+    public static final String LIVE_API_URL = "https://api.practicesoftwaretesting.com";
+
+    public static boolean isStubbed() {
+        return "stub".equalsIgnoreCase(System.getProperty("toolshop.target", "live"));
+    }
+
+    public static String baseUrl() {
+        return isStubbed() ? ToolshopStubServer.shared().baseUrl() : LIVE_URL;
+    }
+
+    public static String apiUrl() {
+        return isStubbed() ? ToolshopStubServer.shared().apiUrl() : LIVE_API_URL;
+    }
+}
@@ -0,0 +1,30 @@
+package com.serenitydojo.playwright;
+
+import com.microsoft.playwright.junit.OptionsFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated test class against a browser that is launched once per worker thread
+ * and shared for the whole run. Each test gets a fresh BrowserContext and Page.
+ * Network traffic can be recorded and replayed with {@link HarExtension}, trimmed with {@link BlockResources},
+ * and slowed down to that of a poor connection with {@link NetworkConditions}.
+ * Tests can start logged in with {@link LoggedInAs}, and the phases of every test are timed by {@link TestTimingExtension}.
+ * A failing test leaves a trace and screenshots behind, see {@link FailureArtifactsExtension}.
+ * What each test depends on is recorded by {@link TestImpactExtension}, to run only the tests a change affects,
+ * and every page a test loads is measured by {@link WebPerformanceExtension}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@ExtendWith({SharedBrowserExtension.class, HarExtension.class, ResourceBlockingExtension.class,
+        NetworkConditionsExtension.class, AuthenticatedSessionExtension.class, TestTimingExtension.class, FailureArtifactsExtension.class,
+        TestImpactExtension.class, WebPerformanceExtension.class})
+public @interface UseSharedBrowser {
+    Class<? extends OptionsFactory> value() default HeadlessChromeOptions.class;
+}
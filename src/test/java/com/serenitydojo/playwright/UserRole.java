@@ -0,0 +1,29 @@
+package com.serenitydojo.playwright;
+
+/**
+ * The Toolshop demo accounts. Credentials can be overridden with -Dtoolshop.[role].email and -Dtoolshop.[role].password.
+ */
+public enum UserRole {
+    CUSTOMER("customer@practicesoftwaretesting.com", "welcome01"),
+    ADMIN("admin@practicesoftwaretesting.com", "welcome01");
+
+    private final String defaultEmail;
+    private final String defaultPassword;
+
+    UserRole(String defaultEmail, String defaultPassword) {
+        this.defaultEmail = defaultEmail;
+        this.defaultPassword = defaultPassword;
+    }
+
+    public String email() {
+        return System.getProperty("toolshop." + key() + ".email", defaultEmail);
+    }
+
+    public String password() {
+        return System.getProperty("toolshop." + key() + ".password", defaultPassword);
+    }
+
+    String key() {
+        return name().toLowerCase();
+    }
+}
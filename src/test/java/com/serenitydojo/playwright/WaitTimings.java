@@ -0,0 +1,77 @@
+package com.serenitydojo.playwright;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each named wait condition took across the run.
+ * The totals are printed and written to target/wait-timings.csv when the JVM exits.
+ */
+public class WaitTimings {
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WaitTimings::report, "wait-timings-report"));
+    }
+
+    private static class Stats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        synchronized String csvLine(String condition) {
+            return String.format("%s,%d,%d,%d,%d", condition, count, totalNanos / 1_000_000,
+                    totalNanos / count / 1_000_000, maxNanos / 1_000_000);
+        }
+    }
+
+    public static <T> T time(String condition, Supplier<T> wait) {
+        long start = System.nanoTime();
+        try {
+            return wait.get();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            STATS.computeIfAbsent(condition, name -> new Stats()).add(nanos);
+            TestTimings.record("wait: " + condition, nanos);
+        }
+    }
+
+    public static void time(String condition, Runnable wait) {
+        time(condition, () -> {
+            wait.run();
+            return null;
+        });
+    }
+
+    private static void report() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        StringBuilder csv = new StringBuilder("condition,count,total_ms,avg_ms,max_ms\n");
+        System.out.println("Wait timings (condition, count, total ms, avg ms, max ms):");
+        new TreeMap<>(STATS).forEach((condition, stats) -> {
+            String line = stats.csvLine(condition);
+            csv.append(line).append('\n');
+            System.out.println("  " + line);
+        });
+        try {
+            Files.createDirectories(Path.of("target"));
+            Files.writeString(Path.of("target", "wait-timings.csv"), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.serenitydojo.playwright;
+
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures every page a test loads (see {@link PagePerformance}), so the functional tests double as a front-end
+ * performance check. Each page is measured when it has loaded, and the pages still open are measured again when
+ * the test ends, as LCP and CLS go on changing while the app renders.
+ * <ul>
+ *     <li>Every measurement of the run is written to target/web-performance.json, with its test and browser and
+ *     whether resources were blocked, and the p50/p95 of each path are printed for the fully loaded pages</li>
+ *     <li>A test fails if a page went over one of its {@link PerformanceBudget}s, unless it runs with
+ *     {@link BlockResources}: without images and fonts, its pages aren't the ones the budgets are for</li>
+ *     <li>-Dplaywright.webperf=off turns it off altogether</li>
+ * </ul>
+ * The time spent measuring shows up as the "web performance" phase of {@link TestTimings}.
+ */
+public class WebPerformanceExtension implements BeforeEachCallback, AfterEachCallback, BrowserContextHook {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(WebPerformanceExtension.class);
+    private static final Path DATASET = Paths.get("target", "web-performance.json");
+
+    static boolean enabled() {
+        return !"off".equalsIgnoreCase(System.getProperty("playwright.webperf", "on"));
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        if (enabled()) {
+            SharedBrowserExtension.registerHook(extensionContext, this);
+        }
+    }
+
+    @Override
+    public void contextCreated(BrowserContext browserContext, ExtensionContext extensionContext) {
+        extensionContext.getStore(NAMESPACE).put(PageLoads.class, new PageLoads(browserContext));
+    }
+
+    /**
+     * Runs before the context is closed, so the pages are still there to be measured one last time.
+     */
+    @Override
+    public void afterEach(ExtensionContext extensionContext) {
+        PageLoads loads = extensionContext.getStore(NAMESPACE).get(PageLoads.class, PageLoads.class);
+        if (loads == null) {
+            return;
+        }
+        loads.measureOpenPages();
+        // A test that has already failed doesn't need a second failure for being slow
+        if (extensionContext.getExecutionException().isPresent() || resourcesBlocked(extensionContext)) {
+            return;
+        }
+        List<String> overBudget = overBudget(loads.measurements(), budgetsFor(extensionContext));
+        if (!overBudget.isEmpty()) {
+            throw new AssertionError(extensionContext.getDisplayName() + " went over its performance budget:\n  "
+                    + String.join("\n  ", overBudget));
+        }
+    }
+
+    @Override
+    public void contextClosing(BrowserContext browserContext, ExtensionContext extensionContext) {
+        // Pooled contexts can be handed to another test, so leave no listeners behind
+        PageLoads loads = extensionContext.getStore(NAMESPACE).remove(PageLoads.class, PageLoads.class);
+        if (loads == null) {
+            return;
+        }
+        loads.remove();
+        String browserName = browserContext.browser().browserType().name();
+        Dataset dataset = dataset(extensionContext);
+        boolean resourcesBlocked = resourcesBlocked(extensionContext);
+        loads.measurements().forEach(page -> dataset.add(
+                new Sample(TestTimingExtension.testId(extensionContext), browserName, resourcesBlocked, page)));
+    }
+
+    private static boolean resourcesBlocked(ExtensionContext extensionContext) {
+        return ResourceBlockingExtension.policyFor(extensionContext).filter(BlockResources::enabled).isPresent();
+    }
+
+    static List<String> overBudget(List<PagePerformance> pages, List<PerformanceBudget> budgets) {
+        List<String> overBudget = new ArrayList<>();
+        for (PerformanceBudget budget : budgets) {
+            for (PagePerformance page : pages) {
+                if (!budget.path().isEmpty() && !budget.path().equals(page.path())) {
+                    continue;
+                }
+                check(overBudget, page, "time to first byte", page.timeToFirstByte(), budget.timeToFirstByte());
+                check(overBudget, page, "first contentful paint", page.firstContentfulPaint(), budget.firstContentfulPaint());
+                check(overBudget, page, "largest contentful paint", page.largestContentfulPaint(), budget.largestContentfulPaint());
+                check(overBudget, page, "load", page.load(), budget.load());
+                check(overBudget, page, "cumulative layout shift", page.cumulativeLayoutShift(), budget.cumulativeLayoutShift());
+            }
+        }
+        return overBudget;
+    }
+
+    private static void check(List<String> overBudget, PagePerformance page, String metric, Double value, double limit) {
+        if (limit >= 0 && value != null && value > limit) {
+            overBudget.add(String.format("%s of %s was %.2f, over its budget of %.2f", metric, page.url(), value, limit));
+        }
+    }
+
+    private static List<PerformanceBudget> budgetsFor(ExtensionContext extensionContext) {
+        List<PerformanceBudget> budgets = new ArrayList<>();
+        extensionContext.getTestMethod()
+                .ifPresent(method -> budgets.addAll(AnnotationSupport.findRepeatableAnnotations(method, PerformanceBudget.class)));
+        for (Class<?> testClass = extensionContext.getRequiredTestClass(); testClass != null; testClass = testClass.getEnclosingClass()) {
+            budgets.addAll(AnnotationSupport.findRepeatableAnnotations(testClass, PerformanceBudget.class));
+        }
+        return budgets;
+    }
+
+    private static Dataset dataset(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Dataset.class, type -> new Dataset(), Dataset.class);
+    }
+
+    /**
+     * The pages a context has loaded, one measurement per document.
+     */
+    private static class PageLoads {
+        private final BrowserContext context;
+        private final List<PagePerformance> measurements = new ArrayList<>();
+        private final Consumer<Page> pageLoaded = this::measure;
+        private final Consumer<Page> pageOpened = this::listenTo;
+
+        PageLoads(BrowserContext context) {
+            this.context = context;
+            // A pooled context already has its page open
+            context.pages().forEach(this::listenTo);
+            context.onPage(pageOpened);
+        }
+
+        private void listenTo(Page page) {
+            page.onLoad(pageLoaded);
+        }
+
+        void measureOpenPages() {
+            context.pages().forEach(this::measure);
+        }
+
+        private void measure(Page page) {
+            if (page.isClosed() || !page.url().startsWith("http")) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                PagePerformance latest = PagePerformance.measure(page);
+                for (int i = 0; i < measurements.size(); i++) {
+                    if (measurements.get(i).isSameDocumentAs(latest)) {
+                        measurements.set(i, latest);
+                        return;
+                    }
+                }
+                measurements.add(latest);
+            } catch (PlaywrightException e) {
+                // The page moved on, or closed, before it could be measured
+            } finally {
+                TestTimings.record("web performance", System.nanoTime() - start);
+            }
+        }
+
+        List<PagePerformance> measurements() {
+            return measurements;
+        }
+
+        void remove() {
+            context.offPage(pageOpened);
+            context.pages().forEach(page -> page.offLoad(pageLoaded));
+        }
+    }
+
+    private record Sample(String test, String browser, boolean resourcesBlocked, PagePerformance page) {}
+
+    /**
+     * Lives in the root extension context, so it is written once every test in the run has finished.
+     */
+    private static class Dataset implements ExtensionContext.Store.CloseableResource {
+        private final Collection<Sample> samples = new ConcurrentLinkedQueue<>();
+
+        void add(Sample sample) {
+            samples.add(sample);
+        }
+
+        @Override
+        public void close() {
+            if (samples.isEmpty()) {
+                return;
+            }
+            try {
+                Files.createDirectories(DATASET.getParent());
+                Files.writeString(DATASET, new GsonBuilder().setPrettyPrinting().create().toJson(samples));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write " + DATASET, e);
+            }
+            System.out.printf("Web performance: %d page load(s) measured, written to %s%n", samples.size(), DATASET);
+            Map<String, List<PagePerformance>> byPath = samples.stream()
+                    .filter(sample -> !sample.resourcesBlocked())
+                    .collect(Collectors.groupingBy(sample -> sample.page().path(), TreeMap::new,
+                            Collectors.mapping(Sample::page, Collectors.toList())));
+            byPath.forEach((path, pages) -> System.out.printf("  %-24s %3d load(s), TTFB %s, FCP %s, LCP %s, load %s, CLS max %s%n",
+                    path, pages.size(),
+                    percentiles(pages, PagePerformance::timeToFirstByte),
+                    percentiles(pages, PagePerformance::firstContentfulPaint),
+                    percentiles(pages, PagePerformance::largestContentfulPaint),
+                    percentiles(pages, PagePerformance::load),
+                    pages.stream().map(PagePerformance::cumulativeLayoutShift).filter(Objects::nonNull)
+                            .max(Double::compare).map(cls -> String.format("%.3f", cls)).orElse("n/a")));
+        }
+
+        private static String percentiles(List<PagePerformance> pages, Function<PagePerformance, Double> metric) {
+            List<Long> sorted = pages.stream().map(metric).filter(Objects::nonNull).map(Math::round).sorted().toList();
+            if (sorted.isEmpty()) {
+                return "n/a";
+            }
+            return String.format("p50 %d/p95 %d ms", TestTimings.percentile(sorted, 50), TestTimings.percentile(sorted, 95));
+        }
+    }
+}
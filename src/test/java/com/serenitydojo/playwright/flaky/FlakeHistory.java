@@ -0,0 +1,112 @@
+package com.serenitydojo.playwright.flaky;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.serenitydojo.playwright.SharedFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The outcome of each test over its recent runs, oldest first, one letter per run:
+ * P passed, R passed on a retry, F failed. Kept in target/flake-history.json, or the file given with
+ * -Dtest.flaky.history, so CI can cache it between builds.
+ * <p>
+ * A run is flaky when the test passed on a retry, or failed and then passed again later,
+ * within the last -Dtest.flaky.window runs (20 by default).
+ * Once it has been flaky in -Dtest.flaky.quarantine-after of them (3 by default) it is quarantined,
+ * see {@link QuarantineFilter}, until enough clean runs have pushed the flaky ones out of the window.
+ */
+public class FlakeHistory {
+
+    public static final char PASSED = 'P';
+    public static final char PASSED_ON_RETRY = 'R';
+    public static final char FAILED = 'F';
+
+    private final Map<String, String> outcomes;
+
+    private FlakeHistory(Map<String, String> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    public static Path file() {
+        return Paths.get(System.getProperty("test.flaky.history", "target/flake-history.json"));
+    }
+
+    static int window() {
+        return Integer.getInteger("test.flaky.window", 20);
+    }
+
+    static int quarantineAfter() {
+        return Integer.getInteger("test.flaky.quarantine-after", 3);
+    }
+
+    public static FlakeHistory load() {
+        return load(file());
+    }
+
+    static FlakeHistory load(Path file) {
+        Map<String, String> outcomes = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return new FlakeHistory(outcomes);
+        }
+        try {
+            JsonObject tests = JsonParser.parseString(Files.readString(file)).getAsJsonObject();
+            tests.entrySet().forEach(entry -> outcomes.put(entry.getKey(), entry.getValue().getAsString()));
+        } catch (IOException | RuntimeException e) {
+            // Losing the history only means quarantining later, it must never stop the tests from running
+            System.out.printf("Flaky tests: ignoring unreadable history in %s (%s)%n", file, e.getMessage());
+        }
+        return new FlakeHistory(outcomes);
+    }
+
+    public String outcomesOf(String testId) {
+        return outcomes.getOrDefault(testId, "");
+    }
+
+    /**
+     * How many of the recent runs of a test were flaky: passed on a retry, or failed between passing runs.
+     */
+    public int flakyRuns(String testId) {
+        return flakyRunsIn(outcomesOf(testId));
+    }
+
+    static int flakyRunsIn(String outcomes) {
+        long retried = outcomes.chars().filter(outcome -> outcome == PASSED_ON_RETRY).count();
+        // The failures since the last pass are a regression until the test passes again, not flakiness:
+        // quarantining them would hide a broken test. So would counting a test that never passes
+        int lastPass = Math.max(outcomes.lastIndexOf(PASSED), outcomes.lastIndexOf(PASSED_ON_RETRY));
+        long failedBetweenPasses = outcomes.substring(0, Math.max(0, lastPass)).chars().filter(outcome -> outcome == FAILED).count();
+        return (int) (retried + failedBetweenPasses);
+    }
+
+    public boolean isQuarantined(String testId) {
+        return flakyRuns(testId) >= quarantineAfter();
+    }
+
+    /**
+     * Adds the outcomes of this run to the history file. Shards running side by side on the same machine
+     * share the file, so the update holds a lock and only touches the tests this run has seen.
+     */
+    static void record(Path file, Map<String, Character> latest) {
+        if (latest.isEmpty()) {
+            return;
+        }
+        SharedFile.update(file, "flake history", () -> {
+            Map<String, String> history = load(file).outcomes;
+            latest.forEach((testId, outcome) -> {
+                String outcomes = history.getOrDefault(testId, "") + outcome;
+                history.put(testId, outcomes.substring(Math.max(0, outcomes.length() - window())));
+            });
+
+            JsonObject json = new JsonObject();
+            history.forEach(json::addProperty);
+            return new GsonBuilder().setPrettyPrinting().create().toJson(json);
+        });
+    }
+}
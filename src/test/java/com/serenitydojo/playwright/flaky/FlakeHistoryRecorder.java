@@ -0,0 +1,61 @@
+package com.serenitydojo.playwright.flaky;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adds the outcome of every test method in the run to the {@link FlakeHistory}, and lists the tests that only
+ * passed on a retry. Registered with the JUnit Platform in META-INF/services.
+ * <p>
+ * A method with several invocations (retries, parameters or dynamic tests) has a single outcome per run:
+ * failed if any invocation failed, passed on retry if an attempt was retried, and passed otherwise.
+ */
+public class FlakeHistoryRecorder implements TestExecutionListener {
+
+    private final Map<String, Character> outcomes = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        if (!identifier.isTest() || !(identifier.getSource().orElse(null) instanceof MethodSource source)) {
+            return;
+        }
+        Character outcome = switch (result.getStatus()) {
+            case SUCCESSFUL -> FlakeHistory.PASSED;
+            case FAILED -> FlakeHistory.FAILED;
+            // Skipped by an assumption, so there is nothing to learn from this run
+            case ABORTED -> result.getThrowable().orElse(null) instanceof RetryAttemptFailed ? FlakeHistory.PASSED_ON_RETRY : null;
+        };
+        if (outcome != null) {
+            outcomes.merge(source.getClassName() + "#" + source.getMethodName(), outcome, FlakeHistoryRecorder::worst);
+        }
+    }
+
+    private static Character worst(Character first, Character second) {
+        if (first == FlakeHistory.FAILED || second == FlakeHistory.FAILED) {
+            return FlakeHistory.FAILED;
+        }
+        return (first == FlakeHistory.PASSED_ON_RETRY || second == FlakeHistory.PASSED_ON_RETRY)
+                ? FlakeHistory.PASSED_ON_RETRY : FlakeHistory.PASSED;
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Map<String, Character> sorted = new TreeMap<>(outcomes);
+        FlakeHistory.record(FlakeHistory.file(), sorted);
+
+        FlakeHistory history = FlakeHistory.load();
+        sorted.forEach((testId, outcome) -> {
+            if (outcome == FlakeHistory.PASSED_ON_RETRY) {
+                System.out.printf("Flaky test %s passed on a retry (recent runs: %s)%s%n", testId, history.outcomesOf(testId),
+                        history.isQuarantined(testId) ? " - now quarantined" : "");
+            }
+        });
+    }
+}
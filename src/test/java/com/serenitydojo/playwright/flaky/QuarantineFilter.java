@@ -0,0 +1,50 @@
+package com.serenitydojo.playwright.flaky;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves tests that flake often (see {@link FlakeHistory}) out of the main run, into a run of their own:
+ * <ul>
+ *     <li>by default quarantined tests are left out, so they can't fail the build</li>
+ *     <li>-Dtest.quarantine=only runs the quarantined tests and nothing else, e.g. as a separate CI step
+ *     that is allowed to fail</li>
+ *     <li>-Dtest.quarantine=off runs every test</li>
+ * </ul>
+ * Registered with the JUnit Platform in META-INF/services, so it selects from every test class, not just the
+ * browser tests. Quarantined tests still add to their history in the quarantine run, so they come back on their own
+ * once they have stopped flaking.
+ */
+public class QuarantineFilter implements PostDiscoveryFilter {
+
+    private static final FlakeHistory HISTORY = FlakeHistory.load();
+    private static final Set<String> REPORTED = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        String mode = System.getProperty("test.quarantine", "skip");
+        if (mode.equalsIgnoreCase("off") || !descriptor.getChildren().isEmpty()
+                || !(descriptor.getSource().orElse(null) instanceof MethodSource source)) {
+            return FilterResult.included("not quarantining");
+        }
+        String testId = source.getClassName() + "#" + source.getMethodName();
+        boolean quarantined = HISTORY.isQuarantined(testId);
+        if (mode.equalsIgnoreCase("only")) {
+            return quarantined ? FilterResult.included("quarantined, running in the quarantine run")
+                    : FilterResult.excluded("not quarantined, runs in the main run");
+        }
+        if (!quarantined) {
+            return FilterResult.included("not quarantined");
+        }
+        if (REPORTED.add(testId)) {
+            System.out.printf("Flaky tests: %s is quarantined (%d flaky runs out of the last %d: %s), run it with -Dtest.quarantine=only%n",
+                    testId, HISTORY.flakyRuns(testId), HISTORY.outcomesOf(testId).length(), HISTORY.outcomesOf(testId));
+        }
+        return FilterResult.excluded("quarantined as flaky");
+    }
+}
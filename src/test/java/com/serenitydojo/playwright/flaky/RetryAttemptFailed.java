@@ -0,0 +1,16 @@
+package com.serenitydojo.playwright.flaky;
+
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Reports a failed attempt of a {@link RetryingTest} that is going to be retried,
+ * so that it doesn't count as a failure of the test.
+ */
+public class RetryAttemptFailed extends TestAbortedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RetryAttemptFailed(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,115 @@
+package com.serenitydojo.playwright.flaky;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Runs the attempts of a {@link RetryingTest}. Only the failed test is run again, never its class or the suite.
+ * <p>
+ * Retries are rationed by cost: a failed attempt is only retried if the time it took fits within
+ * what is left of the retry budget for the run (-Dtest.retry.budget.seconds, 120 by default).
+ * A test that fails slowly, or a run where many tests fail, soon stops retrying and reports the real failures.
+ */
+public class RetryExtension implements TestTemplateInvocationContextProvider {
+
+    private static final AtomicLong RETRY_BUDGET_NANOS =
+            new AtomicLong(Long.getLong("test.retry.budget.seconds", 120) * 1_000_000_000L);
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext extensionContext) {
+        return extensionContext.getTestMethod().map(method -> AnnotationSupport.isAnnotated(method, RetryingTest.class)).orElse(false);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext extensionContext) {
+        int maxAttempts = AnnotationSupport.findAnnotation(extensionContext.getRequiredTestMethod(), RetryingTest.class)
+                .map(RetryingTest::maxAttempts).orElse(1);
+        Attempts attempts = new Attempts(Math.max(1, maxAttempts));
+        // Lazy, so each attempt is only created once the one before it has failed and asked for a retry
+        return Stream.iterate(1, attempt -> attempt + 1)
+                .takeWhile(attempts::shouldRun)
+                .map(attempt -> new Attempt(attempt, attempts));
+    }
+
+    private static class Attempts {
+        private final int maxAttempts;
+        private volatile boolean retryRequested;
+        private volatile long attemptStart;
+
+        Attempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        boolean shouldRun(int attempt) {
+            return attempt == 1 || retryRequested;
+        }
+
+        void started() {
+            retryRequested = false;
+            attemptStart = System.nanoTime();
+        }
+
+        /**
+         * Turns the failure into an aborted attempt if there is another attempt to come, and rethrows it otherwise.
+         */
+        void failed(int attempt, Throwable failure, ExtensionContext extensionContext) throws Throwable {
+            if (failure instanceof RetryAttemptFailed || attempt >= maxAttempts) {
+                throw failure;
+            }
+            long cost = System.nanoTime() - attemptStart;
+            long budgetLeft = RETRY_BUDGET_NANOS.getAndUpdate(left -> left >= cost ? left - cost : left);
+            if (budgetLeft < cost) {
+                System.out.printf("Not retrying %s: the retry budget for this run is used up%n", extensionContext.getDisplayName());
+                throw failure;
+            }
+            retryRequested = true;
+            throw new RetryAttemptFailed(String.format("Attempt %d of %d failed after %d ms, retrying: %s",
+                    attempt, maxAttempts, cost / 1_000_000, failure), failure);
+        }
+    }
+
+    private record Attempt(int attempt, Attempts attempts) implements TestTemplateInvocationContext {
+
+        @Override
+        public String getDisplayName(int invocationIndex) {
+            return (attempt == 1) ? "attempt 1" : "attempt " + attempt + " (retry)";
+        }
+
+        @Override
+        public List<Extension> getAdditionalExtensions() {
+            return List.of(new AttemptHandler(attempt, attempts));
+        }
+    }
+
+    /**
+     * Catches failures in the test and in its @BeforeEach methods, where a flaky page load usually shows up.
+     */
+    private record AttemptHandler(int attempt, Attempts attempts)
+            implements BeforeEachCallback, TestExecutionExceptionHandler, LifecycleMethodExecutionExceptionHandler {
+
+        @Override
+        public void beforeEach(ExtensionContext extensionContext) {
+            attempts.started();
+        }
+
+        @Override
+        public void handleTestExecutionException(ExtensionContext extensionContext, Throwable throwable) throws Throwable {
+            attempts.failed(attempt, throwable, extensionContext);
+        }
+
+        @Override
+        public void handleBeforeEachMethodExecutionException(ExtensionContext extensionContext, Throwable throwable) throws Throwable {
+            attempts.failed(attempt, throwable, extensionContext);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.serenitydojo.playwright.flaky;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class RetryExtensionTest {
+
+    // Run through a launcher of their own below, rather than as part of the suite
+    static class FlakyExamples {
+        static final AtomicInteger FLAKY_ATTEMPTS = new AtomicInteger();
+        static final AtomicInteger BROKEN_ATTEMPTS = new AtomicInteger();
+
+        @RetryingTest(maxAttempts = 3)
+        void passesOnTheSecondAttempt() {
+            if (FLAKY_ATTEMPTS.incrementAndGet() < 2) {
+                fail("Timed out waiting for the product grid");
+            }
+        }
+
+        @RetryingTest(maxAttempts = 2)
+        void neverPasses() {
+            BROKEN_ATTEMPTS.incrementAndGet();
+            fail("Broken");
+        }
+    }
+
+    @DisplayName("Retries a failed test until it passes, and reports the real failure of a test that never does")
+    @Test
+    void retriesFailedTests() {
+        TestExecutionSummary summary = run(FlakyExamples.class);
+
+        assertThat(FlakyExamples.FLAKY_ATTEMPTS).hasValue(2);
+        assertThat(FlakyExamples.BROKEN_ATTEMPTS).hasValue(2);
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(summary.getTestsAbortedCount()).isEqualTo(2);
+        assertThat(summary.getTestsFailedCount()).isEqualTo(1);
+        assertThat(summary.getFailures().get(0).getException()).hasMessage("Broken");
+    }
+
+    @DisplayName("Counts retries, and failures between passing runs, as flaky")
+    @Test
+    void countsFlakyRuns() {
+        assertThat(FlakeHistory.flakyRunsIn("PPRPPFPR")).isEqualTo(3);
+        assertThat(FlakeHistory.flakyRunsIn("PPPP")).isZero();
+        // Never passing is broken, not flaky
+        assertThat(FlakeHistory.flakyRunsIn("FFFF")).isZero();
+        // Failing every run since it last passed is a regression, and must not be quarantined
+        assertThat(FlakeHistory.flakyRunsIn("PPPPPFFF")).isZero();
+        assertThat(FlakeHistory.flakyRunsIn("PFPFFF")).isEqualTo(1);
+    }
+
+    private static TestExecutionSummary run(Class<?> testClass) {
+        // Without the listeners and filters in META-INF/services, so the examples stay out of the flake history
+        var launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enableTestExecutionListenerAutoRegistration(false)
+                .enablePostDiscoveryFilterAutoRegistration(false)
+                .build());
+        var listener = new SummaryGeneratingListener();
+        launcher.execute(LauncherDiscoveryRequestBuilder.request().selectors(selectClass(testClass)).build(), listener);
+        return listener.getSummary();
+    }
+}
@@ -0,0 +1,28 @@
+package com.serenitydojo.playwright.flaky;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use instead of @Test for a test that is known to fail now and then. A failed attempt is reported as aborted
+ * and the test runs again, with its @BeforeEach methods and a fresh context on the same warm browser,
+ * until it passes or has failed maxAttempts times. See {@link RetryExtension}.
+ * <p>
+ * The attempts run one after the other on the same thread, even when the suite runs in parallel,
+ * as each attempt depends on how the one before it went.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@Execution(ExecutionMode.SAME_THREAD)
+@ExtendWith(RetryExtension.class)
+public @interface RetryingTest {
+    int maxAttempts() default 3;
+}
@@ -0,0 +1,54 @@
+package com.serenitydojo.playwright.impact;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The files changed since a git revision, including uncommitted changes, with the lines changed in each.
+ */
+public class GitDiff {
+
+    public record ChangedFile(String path, List<String> changedLines) {}
+
+    public static List<ChangedFile> since(String baseRef, Path workingDirectory) throws IOException {
+        Process git = new ProcessBuilder("git", "diff", "-U0", "--no-color", "--no-ext-diff", baseRef, "--")
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            if (!git.waitFor(30, TimeUnit.SECONDS) || git.exitValue() != 0) {
+                throw new IOException("git diff " + baseRef + " failed: " + output.strip());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git diff", e);
+        }
+        return parse(output);
+    }
+
+    static List<ChangedFile> parse(String diff) {
+        List<ChangedFile> files = new ArrayList<>();
+        List<String> lines = null;
+        boolean inHunk = false;
+        for (String line : diff.split("\n", -1)) {
+            if (line.startsWith("diff --git ")) {
+                lines = new ArrayList<>();
+                files.add(new ChangedFile(line.substring(line.lastIndexOf(" b/") + 3), lines));
+                inHunk = false;
+            } else if (line.startsWith("rename from ")) {
+                // The tests of the old file are affected too, in ways the lines can't tell
+                files.add(new ChangedFile(line.substring("rename from ".length()), new ArrayList<>()));
+            } else if (line.startsWith("@@")) {
+                inHunk = true;
+            } else if (inHunk && lines != null && (line.startsWith("+") || line.startsWith("-"))) {
+                lines.add(line.substring(1));
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,119 @@
+package com.serenitydojo.playwright.impact;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Records what the test running on this thread depends on: the pages it opens, the API calls it makes,
+ * the API routes it mocks and the page object selectors it uses. The results go into the {@link TestImpactIndex},
+ * which {@link TestImpactFilter} uses to pick the tests that a change can affect.
+ */
+public class TestImpact {
+
+    private static final ThreadLocal<Usage> CURRENT = new ThreadLocal<>();
+
+    /**
+     * What one test has used so far.
+     */
+    public static class Usage {
+        private final Set<String> pages = ConcurrentHashMap.newKeySet();
+        private final Set<String> apiCalls = ConcurrentHashMap.newKeySet();
+        private final Set<String> mockedRoutes = ConcurrentHashMap.newKeySet();
+        private final Map<String, Set<String>> selectors = new ConcurrentHashMap<>();
+
+        /**
+         * Follows the navigations and API calls of a context, until the returned action is run.
+         */
+        public Runnable watch(BrowserContext context) {
+            Consumer<Frame> navigated = frame -> {
+                if (frame.parentFrame() == null) {
+                    pages.add(normalisedPath(frame.url()));
+                }
+            };
+            Consumer<Page> pageOpened = page -> page.onFrameNavigated(navigated);
+            Consumer<Request> requested = request -> {
+                if (request.resourceType().equals("fetch") || request.resourceType().equals("xhr")) {
+                    apiCalls.add(request.method() + " " + normalisedPath(request.url()));
+                }
+            };
+            context.pages().forEach(pageOpened);
+            context.onPage(pageOpened);
+            context.onRequest(requested);
+            return () -> {
+                context.offPage(pageOpened);
+                context.offRequest(requested);
+                context.pages().forEach(page -> page.offFrameNavigated(navigated));
+            };
+        }
+
+        TestImpactIndex.Entry toEntry() {
+            Map<String, Set<String>> sortedSelectors = new TreeMap<>();
+            selectors.forEach((pageObject, names) -> sortedSelectors.put(pageObject, new TreeSet<>(names)));
+            return new TestImpactIndex.Entry(new TreeSet<>(pages), new TreeSet<>(apiCalls), new TreeSet<>(mockedRoutes), sortedSelectors);
+        }
+    }
+
+    static Usage start() {
+        Usage usage = new Usage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The usage of the test running on this thread, or null if it isn't being recorded.
+     */
+    public static Usage current() {
+        return CURRENT.get();
+    }
+
+    public static void pageObjectUsed(String pageObject) {
+        Usage usage = CURRENT.get();
+        if (usage != null) {
+            usage.selectors.computeIfAbsent(pageObject, key -> ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public static void selectorUsed(String pageObject, String selectorName) {
+        Usage usage = CURRENT.get();
+        if (usage != null) {
+            usage.selectors.computeIfAbsent(pageObject, key -> ConcurrentHashMap.newKeySet()).add(selectorName);
+        }
+    }
+
+    public static void routeMocked(String method, String path) {
+        Usage usage = CURRENT.get();
+        if (usage != null) {
+            usage.mockedRoutes.add(method + " " + path);
+        }
+    }
+
+    /**
+     * The path of a URL, with anything that looks like a record id replaced, so /products/01JBSC2J... is /products/{id}.
+     */
+    static String normalisedPath(String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            path = url;
+        }
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        return path.replaceAll("/(?=[^/]*\\d)[A-Za-z0-9-]{8,}(?=/|$)", "/{id}");
+    }
+}
@@ -0,0 +1,75 @@
+package com.serenitydojo.playwright.impact;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs only the tests affected by the changes since a git revision, e.g. -Dtest.impact=origin/main,
+ * and does nothing without it. Registered with the JUnit Platform in META-INF/services.
+ * <p>
+ * Tests that aren't in the {@link TestImpactIndex} yet, such as new tests or tests that don't use a browser,
+ * always run. When there is no index, git fails, or a change can't be traced to particular tests
+ * (see {@link TestSelection}), every test runs.
+ */
+public class TestImpactFilter implements PostDiscoveryFilter {
+
+    private static volatile Selection selection;
+
+    private record Selection(TestImpactIndex index, TestSelection.Result result) {
+        boolean includes(String testId) {
+            return result.isFullRun() || !index.contains(testId) || result.selected().containsKey(testId);
+        }
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        String baseRef = System.getProperty("test.impact", "").trim();
+        if (baseRef.isEmpty() || !descriptor.getChildren().isEmpty()
+                || !(descriptor.getSource().orElse(null) instanceof MethodSource source)) {
+            return FilterResult.included("not selecting by impact");
+        }
+        String testId = source.getClassName() + "#" + source.getMethodName();
+        return selectionSince(baseRef).includes(testId)
+                ? FilterResult.included("may be affected by the changes since " + baseRef)
+                : FilterResult.excluded("not affected by the changes since " + baseRef);
+    }
+
+    private static synchronized Selection selectionSince(String baseRef) {
+        if (selection == null) {
+            selection = select(baseRef);
+        }
+        return selection;
+    }
+
+    private static Selection select(String baseRef) {
+        Path indexFile = TestImpactIndex.file();
+        TestImpactIndex index = TestImpactIndex.load(indexFile);
+        TestSelection.Result result;
+        if (index.isEmpty()) {
+            result = TestSelection.Result.fullRun("there is no test impact index at " + indexFile + " yet");
+        } else {
+            try {
+                List<GitDiff.ChangedFile> changes = GitDiff.since(baseRef, Path.of(System.getProperty("user.dir")));
+                result = TestSelection.select(index, changes);
+            } catch (IOException e) {
+                result = TestSelection.Result.fullRun(e.getMessage());
+            }
+        }
+
+        Optional<String> fullRunReason = result.fullRunReason();
+        if (fullRunReason.isPresent()) {
+            System.out.printf("Test impact: running every test, because %s%n", fullRunReason.get());
+        } else {
+            System.out.printf("Test impact: %d of %d indexed test(s) affected by the changes since %s, plus any tests not in the index:%n%s%n",
+                    result.selected().size(), index.entries().size(), baseRef, TestSelection.describe(result));
+        }
+        return new Selection(index, result);
+    }
+}
@@ -0,0 +1,95 @@
+package com.serenitydojo.playwright.impact;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.serenitydojo.playwright.SharedFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * What each test depended on the last time it ran, keyed by class#method. Kept in target/test-impact.json,
+ * or the file given with -Dtest.impact.index, so CI can cache it between builds.
+ */
+public class TestImpactIndex {
+
+    /**
+     * The dependencies of one test. Selectors are grouped by page object, e.g. ContactForm: [first name, email].
+     */
+    public record Entry(Set<String> pages, Set<String> apiCalls, Set<String> mockedRoutes, Map<String, Set<String>> selectors) {
+
+        public Set<String> pages() {
+            return pages == null ? Set.of() : pages;
+        }
+
+        public Set<String> apiCalls() {
+            return apiCalls == null ? Set.of() : apiCalls;
+        }
+
+        public Set<String> mockedRoutes() {
+            return mockedRoutes == null ? Set.of() : mockedRoutes;
+        }
+
+        public Map<String, Set<String>> selectors() {
+            return selectors == null ? Map.of() : selectors;
+        }
+    }
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Map<String, Entry> entries;
+
+    TestImpactIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static Path file() {
+        return Paths.get(System.getProperty("test.impact.index", "target/test-impact.json"));
+    }
+
+    public static TestImpactIndex load(Path file) {
+        if (!Files.exists(file)) {
+            return new TestImpactIndex(new TreeMap<>());
+        }
+        try {
+            Map<String, Entry> entries = GSON.fromJson(Files.readString(file), new TypeToken<TreeMap<String, Entry>>() {}.getType());
+            return new TestImpactIndex(entries == null ? new TreeMap<>() : entries);
+        } catch (IOException | RuntimeException e) {
+            System.out.printf("Test impact: ignoring unreadable index in %s (%s)%n", file, e.getMessage());
+            return new TestImpactIndex(new TreeMap<>());
+        }
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public boolean contains(String testId) {
+        return entries.containsKey(testId);
+    }
+
+    public Map<String, Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Replaces the entries of the tests that ran, and keeps the rest. Shards running side by side on the same machine
+     * share the file, so the update holds a lock.
+     */
+    static void record(Path file, Map<String, Entry> latest) {
+        if (latest.isEmpty()) {
+            return;
+        }
+        SharedFile.update(file, "test impact index", () -> {
+            Map<String, Entry> index = new TreeMap<>(load(file).entries);
+            index.putAll(latest);
+            return GSON.toJson(index);
+        });
+    }
+}
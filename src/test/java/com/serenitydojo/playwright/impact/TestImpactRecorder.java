@@ -0,0 +1,58 @@
+package com.serenitydojo.playwright.impact;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects the usage of every test in the run, and adds it to the {@link TestImpactIndex} once the run is over.
+ * Lives in the root extension context, so JUnit closes it once every test in the run has finished.
+ */
+public class TestImpactRecorder implements ExtensionContext.Store.CloseableResource {
+
+    private final Map<String, Collection<TestImpact.Usage>> usages = new ConcurrentHashMap<>();
+
+    /**
+     * Starts recording the test running on this thread. A test with several invocations, such as a
+     * parameterized test or a retried one, depends on everything any of its invocations used.
+     */
+    public TestImpact.Usage start(String testId) {
+        TestImpact.Usage usage = TestImpact.start();
+        usages.computeIfAbsent(testId, key -> new ConcurrentLinkedQueue<>()).add(usage);
+        return usage;
+    }
+
+    public static void finish() {
+        TestImpact.finish();
+    }
+
+    @Override
+    public void close() {
+        Map<String, TestImpactIndex.Entry> entries = new TreeMap<>();
+        usages.forEach((testId, testUsages) -> entries.put(testId, testUsages.stream()
+                .map(TestImpact.Usage::toEntry)
+                .reduce(TestImpactRecorder::union)
+                .orElseThrow()));
+        TestImpactIndex.record(TestImpactIndex.file(), entries);
+    }
+
+    private static TestImpactIndex.Entry union(TestImpactIndex.Entry first, TestImpactIndex.Entry second) {
+        Map<String, Set<String>> selectors = new TreeMap<>();
+        first.selectors().forEach((pageObject, names) -> selectors.computeIfAbsent(pageObject, key -> new TreeSet<>()).addAll(names));
+        second.selectors().forEach((pageObject, names) -> selectors.computeIfAbsent(pageObject, key -> new TreeSet<>()).addAll(names));
+        return new TestImpactIndex.Entry(union(first.pages(), second.pages()), union(first.apiCalls(), second.apiCalls()),
+                union(first.mockedRoutes(), second.mockedRoutes()), selectors);
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        Set<String> union = new TreeSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+}
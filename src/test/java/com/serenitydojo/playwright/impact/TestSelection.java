@@ -0,0 +1,194 @@
+package com.serenitydojo.playwright.impact;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Works out which indexed tests a set of changed files can affect:
+ * <ul>
+ *     <li>a test class: its own tests, if the index has any (an annotation such as CrossBrowserTest only looks like one)</li>
+ *     <li>a page object: the tests that used the selectors on the changed lines, or every test that used the
+ *     page object when other lines changed</li>
+ *     <li>the mock API: the tests that mocked routes</li>
+ *     <li>the stub server: the tests that called the routes on the changed lines, when nothing but route conditions
+ *     changed, or else every test that opened a page or called the API</li>
+ *     <li>the stub site: every test that opened a page, as every page loads the same HTML, script and styles</li>
+ *     <li>a HAR recording: the tests of the class it was recorded for</li>
+ *     <li>documentation, CI workflows, scripts and benchmarks: nothing</li>
+ * </ul>
+ * Any other change, such as the pom or the shared test infrastructure, could affect any test, so it asks for a full run.
+ */
+public class TestSelection {
+
+    public record Result(Optional<String> fullRunReason, Map<String, String> selected) {
+
+        static Result fullRun(String reason) {
+            return new Result(Optional.of(reason), Map.of());
+        }
+
+        public boolean isFullRun() {
+            return fullRunReason.isPresent();
+        }
+    }
+
+    private static final String TEST_SOURCES = "src/test/java/";
+    private static final String BASE_PACKAGE = "com.serenitydojo.playwright";
+    private static final Pattern TEST_CLASS_NAME = Pattern.compile("Test.*|.*Tests?|.*TestCase");
+    // A name built from a literal, such as locator("field " + label, ...), is only known when the test runs
+    private static final Pattern SELECTOR_NAME = Pattern.compile("locator\\(\"([^\"]+)\"(\\s*\\+)?");
+    // The conditions StubApi routes requests on, e.g. path.equals("/products/search")
+    private static final Pattern STUB_ROUTE = Pattern.compile("path\\.(?:equals|startsWith)\\(\"(/[A-Za-z0-9_./-]*)\"");
+
+    private final TestImpactIndex index;
+    private final Map<String, String> selected = new LinkedHashMap<>();
+
+    private TestSelection(TestImpactIndex index) {
+        this.index = index;
+    }
+
+    public static Result select(TestImpactIndex index, Collection<GitDiff.ChangedFile> changes) {
+        TestSelection selection = new TestSelection(index);
+        for (GitDiff.ChangedFile change : changes) {
+            Optional<String> fullRunReason = selection.apply(change);
+            if (fullRunReason.isPresent()) {
+                return Result.fullRun(fullRunReason.get());
+            }
+        }
+        return new Result(Optional.empty(), selection.selected);
+    }
+
+    private Optional<String> apply(GitDiff.ChangedFile change) {
+        String path = change.path();
+        if (isIrrelevant(path)) {
+            return Optional.empty();
+        }
+        if (path.startsWith("src/test/resources/har/") && path.endsWith(".har")) {
+            String testClass = path.substring(path.lastIndexOf('/') + 1, path.length() - ".har".length());
+            selectTests(path, (testId, entry) -> simpleNameOfTopLevelClass(testId).equals(testClass));
+            return Optional.empty();
+        }
+        if (path.startsWith("src/test/resources/toolshop-stub/")) {
+            selectTests(path, (testId, entry) -> !entry.pages().isEmpty()
+                    || (path.endsWith(".json") && !entry.apiCalls().isEmpty()));
+            return Optional.empty();
+        }
+        if (!path.startsWith(TEST_SOURCES) || !path.endsWith(".java")) {
+            return Optional.of(path + " changed");
+        }
+
+        String className = path.substring(TEST_SOURCES.length(), path.length() - ".java".length()).replace('/', '.');
+        String packageName = className.substring(0, Math.max(0, className.lastIndexOf('.')));
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        if (TEST_CLASS_NAME.matcher(simpleName).matches() && index.entries().keySet().stream().anyMatch(isTestOf(className))) {
+            selectTests(path, (testId, entry) -> isTestOf(className).test(testId));
+            return Optional.empty();
+        }
+        if (packageName.equals(BASE_PACKAGE + ".pages")) {
+            selectByPageObject(path, simpleName, change.changedLines());
+            return Optional.empty();
+        }
+        if (packageName.equals(BASE_PACKAGE + ".mock")) {
+            selectTests(path, (testId, entry) -> !entry.mockedRoutes().isEmpty());
+            return Optional.empty();
+        }
+        if (packageName.equals(BASE_PACKAGE + ".stub")) {
+            selectByStubRoutes(change);
+            return Optional.empty();
+        }
+        return Optional.of(path + " changed, and it is shared by the whole suite");
+    }
+
+    private static boolean isIrrelevant(String path) {
+        return path.endsWith(".md") || path.startsWith(".github/") || path.startsWith("scripts/")
+                || path.startsWith("src/jmh/") || path.equals(".gitignore");
+    }
+
+    private static Predicate<String> isTestOf(String className) {
+        return testId -> testId.startsWith(className + "#") || testId.startsWith(className + "$");
+    }
+
+    private static List<String> significantLines(List<String> changedLines) {
+        return changedLines.stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && !line.startsWith("//") && !line.startsWith("*") && !line.startsWith("/*")
+                        && !line.startsWith("import ") && !line.equals("{") && !line.equals("}"))
+                .toList();
+    }
+
+    private void selectByPageObject(String path, String pageObject, List<String> changedLines) {
+        List<String> significant = significantLines(changedLines);
+        List<String> selectorNames = new ArrayList<>();
+        boolean onlySelectorsChanged = !significant.isEmpty();
+        for (String line : significant) {
+            Matcher matcher = SELECTOR_NAME.matcher(line);
+            if (matcher.find() && matcher.group(2) == null) {
+                selectorNames.add(matcher.group(1));
+            } else {
+                onlySelectorsChanged = false;
+            }
+        }
+        if (pageObject.equals("ToolshopPage")) {
+            selectTests(path, (testId, entry) -> !entry.selectors().isEmpty());
+        } else if (onlySelectorsChanged) {
+            selectTests(path, (testId, entry) -> entry.selectors().getOrDefault(pageObject, Set.of()).stream().anyMatch(selectorNames::contains));
+        } else {
+            selectTests(path, (testId, entry) -> entry.selectors().containsKey(pageObject));
+        }
+    }
+
+    private void selectByStubRoutes(GitDiff.ChangedFile change) {
+        List<String> significant = significantLines(change.changedLines());
+        List<String> routes = new ArrayList<>();
+        boolean onlyRoutesChanged = !significant.isEmpty();
+        for (String line : significant) {
+            List<String> onLine = STUB_ROUTE.matcher(line).results().map(match -> match.group(1)).toList();
+            if (onLine.isEmpty()) {
+                onlyRoutesChanged = false;
+            }
+            routes.addAll(onLine);
+        }
+        if (onlyRoutesChanged) {
+            selectTests(change.path(), (testId, entry) -> dependsOnAnyOf(entry, routes));
+        } else {
+            selectTests(change.path(), (testId, entry) -> !entry.pages().isEmpty() || !entry.apiCalls().isEmpty());
+        }
+    }
+
+    private static boolean dependsOnAnyOf(TestImpactIndex.Entry entry, List<String> urlPaths) {
+        // Contains rather than starts with, as the stub serves its API under /api
+        Predicate<String> matches = used -> urlPaths.stream().anyMatch(used::contains);
+        return entry.pages().stream().anyMatch(matches)
+                || entry.apiCalls().stream().map(call -> call.substring(call.indexOf(' ') + 1)).anyMatch(matches)
+                || entry.mockedRoutes().stream().map(route -> route.substring(route.indexOf(' ') + 1)).anyMatch(matches);
+    }
+
+    private void selectTests(String changedPath, BiPredicate<String, TestImpactIndex.Entry> affected) {
+        index.entries().forEach((testId, entry) -> {
+            if (affected.test(testId, entry)) {
+                selected.putIfAbsent(testId, changedPath);
+            }
+        });
+    }
+
+    private static String simpleNameOfTopLevelClass(String testId) {
+        String className = testId.substring(0, testId.indexOf('#'));
+        String topLevel = className.contains("$") ? className.substring(0, className.indexOf('$')) : className;
+        return topLevel.substring(topLevel.lastIndexOf('.') + 1);
+    }
+
+    static String describe(Result result) {
+        return result.selected().entrySet().stream()
+                .map(entry -> "  " + entry.getKey() + " (" + entry.getValue() + ")")
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.serenitydojo.playwright.impact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSelectionTest {
+
+    private static final String FORMS = "com.serenitydojo.playwright.PlayWrightFormsTest";
+    private static final String SEARCH = "com.serenitydojo.playwright.PlaywrightLocatorsTest$WhenSearching";
+    private static final String CART = "com.serenitydojo.playwright.AddingItemsToTheCartTest";
+
+    private static final TestImpactIndex INDEX = new TestImpactIndex(new TreeMap<>(Map.of(
+            FORMS + "#firstName", new TestImpactIndex.Entry(Set.of("/contact"), Set.of(), Set.of(),
+                    Map.of("ContactForm", Set.of("first name"))),
+            FORMS + "#email", new TestImpactIndex.Entry(Set.of("/contact"), Set.of(), Set.of(),
+                    Map.of("ContactForm", Set.of("email", "send button"))),
+            SEARCH + "#byName", new TestImpactIndex.Entry(Set.of("/"), Set.of("GET /api/products/search"), Set.of(),
+                    Map.of("HomePage", Set.of("search field"))),
+            CART + "#addToCart", new TestImpactIndex.Entry(Set.of("/", "/product/{id}"), Set.of(),
+                    Set.of("GET /api/products/{id}"), Map.of()))));
+
+    @Nested
+    class ReadingTheDiff {
+
+        @DisplayName("Collects the added and removed lines of each changed file")
+        @Test
+        void changedLines() {
+            String diff = """
+                    diff --git a/src/test/java/com/serenitydojo/playwright/pages/ContactForm.java b/src/test/java/com/serenitydojo/playwright/pages/ContactForm.java
+                    index 1111111..2222222 100644
+                    --- a/src/test/java/com/serenitydojo/playwright/pages/ContactForm.java
+                    +++ b/src/test/java/com/serenitydojo/playwright/pages/ContactForm.java
+                    @@ -24 +24 @@ public class ContactForm extends ToolshopPage {
+                    -        return locator("first name", page -> page.getByLabel("First name"));
+                    +        return locator("first name", page -> page.getByLabel("First Name"));
+                    diff --git a/README.md b/README.md
+                    index 3333333..4444444 100644
+                    --- a/README.md
+                    +++ b/README.md
+                    @@ -1,0 +2 @@
+                    +A new line
+                    """;
+
+            List<GitDiff.ChangedFile> files = GitDiff.parse(diff);
+
+            assertThat(files).extracting(GitDiff.ChangedFile::path)
+                    .containsExactly("src/test/java/com/serenitydojo/playwright/pages/ContactForm.java", "README.md");
+            assertThat(files.get(0).changedLines()).hasSize(2).allMatch(line -> line.contains("locator(\"first name\""));
+            assertThat(files.get(1).changedLines()).containsExactly("A new line");
+        }
+
+        @DisplayName("Counts the old name of a renamed file as changed too")
+        @Test
+        void renames() {
+            String diff = """
+                    diff --git a/src/test/java/com/serenitydojo/playwright/OldTest.java b/src/test/java/com/serenitydojo/playwright/NewTest.java
+                    similarity index 100%
+                    rename from src/test/java/com/serenitydojo/playwright/OldTest.java
+                    rename to src/test/java/com/serenitydojo/playwright/NewTest.java
+                    """;
+
+            assertThat(GitDiff.parse(diff)).extracting(GitDiff.ChangedFile::path).containsExactlyInAnyOrder(
+                    "src/test/java/com/serenitydojo/playwright/NewTest.java",
+                    "src/test/java/com/serenitydojo/playwright/OldTest.java");
+        }
+    }
+
+    @Nested
+    class SelectingTests {
+
+        @DisplayName("Runs only the tests that used a selector when nothing but that selector changed")
+        @Test
+        void changedSelector() {
+            var result = select(change("src/test/java/com/serenitydojo/playwright/pages/ContactForm.java",
+                    "        return locator(\"email\", page -> page.getByLabel(\"Email\"));",
+                    "        return locator(\"email\", page -> page.getByLabel(\"Email address\"));"));
+
+            assertThat(result.isFullRun()).isFalse();
+            assertThat(result.selected()).containsOnlyKeys(FORMS + "#email");
+        }
+
+        @DisplayName("Runs every user of a page object when more than its selectors changed")
+        @Test
+        void changedPageObject() {
+            var result = select(change("src/test/java/com/serenitydojo/playwright/pages/ContactForm.java",
+                    "    public void submit() {"));
+
+            assertThat(result.selected()).containsOnlyKeys(FORMS + "#firstName", FORMS + "#email");
+        }
+
+        @DisplayName("Runs every user of a page object when a selector with a built name changed")
+        @Test
+        void changedSelectorWithABuiltName() {
+            var result = select(change("src/test/java/com/serenitydojo/playwright/pages/ContactForm.java",
+                    "        return locator(\"field \" + label, page -> page.getByLabel(label));",
+                    "        return locator(\"field \" + label, page -> page.getByLabel(label, new Page.GetByLabelOptions().setExact(true)));"));
+
+            assertThat(result.selected()).containsOnlyKeys(FORMS + "#firstName", FORMS + "#email");
+        }
+
+        @DisplayName("Runs the tests of a changed test class, including its @Nested classes")
+        @Test
+        void changedTestClass() {
+            var result = select(change("src/test/java/com/serenitydojo/playwright/PlaywrightLocatorsTest.java", "x"));
+
+            assertThat(result.selected()).containsOnlyKeys(SEARCH + "#byName");
+        }
+
+        @DisplayName("Runs the tests that called a stub route when nothing but its condition changed")
+        @Test
+        void changedStubRoute() {
+            var result = select(change("src/test/java/com/serenitydojo/playwright/stub/StubApi.java",
+                    "        if (method.equals(\"GET\") && path.equals(\"/products/search\")) {",
+                    "        if (method.equals(\"GET\") && path.startsWith(\"/products/search\")) {"));
+
+            assertThat(result.selected()).containsOnlyKeys(SEARCH + "#byName");
+        }
+
+        @DisplayName("Runs every test that used the stub when more than its route conditions changed")
+        @Test
+        void changedStubApi() {
+            String diff = """
+                    diff --git a/src/test/java/com/serenitydojo/playwright/stub/StubApi.java b/src/test/java/com/serenitydojo/playwright/stub/StubApi.java
+                    index 1111111..2222222 100644
+                    --- a/src/test/java/com/serenitydojo/playwright/stub/StubApi.java
+                    +++ b/src/test/java/com/serenitydojo/playwright/stub/StubApi.java
+                    @@ -67,2 +67,2 @@ class StubApi implements HttpHandler {
+                    -        if (method.equals("GET") && path.equals("/products/search")) {
+                    -            return ok(catalog.searchProducts(query));
+                    +        if (method.equals("GET") && path.equals("/products/search/")) {
+                    +            return ok(catalog.findProducts(query));
+                    """;
+
+            var result = TestSelection.select(INDEX, GitDiff.parse(diff));
+
+            assertThat(result.selected()).containsOnlyKeys(FORMS + "#firstName", FORMS + "#email", SEARCH + "#byName", CART + "#addToCart");
+        }
+
+        @DisplayName("Runs every test that opened a page when the stub site changes, whatever URLs the change mentions")
+        @Test
+        void changedStubSite() {
+            String diff = """
+                    diff --git a/src/test/resources/toolshop-stub/app.js b/src/test/resources/toolshop-stub/app.js
+                    index 3333333..4444444 100644
+                    --- a/src/test/resources/toolshop-stub/app.js
+                    +++ b/src/test/resources/toolshop-stub/app.js
+                    @@ -53 +53 @@ function productCard(product) {
+                    -            <a class="card" href="/product/${product.id}" data-test="product-${product.id}">
+                    +            <a class="card product-card" href="/product/${product.id}" data-test="product-${product.id}">
+                    diff --git a/src/test/resources/toolshop-stub/index.html b/src/test/resources/toolshop-stub/index.html
+                    index 5555555..6666666 100644
+                    --- a/src/test/resources/toolshop-stub/index.html
+                    +++ b/src/test/resources/toolshop-stub/index.html
+                    @@ -8 +8 @@
+                    -    <script src="/assets/app.js" defer></script>
+                    +    <script src="/assets/app.js"></script>
+                    """;
+
+            var result = TestSelection.select(INDEX, GitDiff.parse(diff));
+
+            assertThat(result.isFullRun()).isFalse();
+            assertThat(result.selected()).containsOnlyKeys(FORMS + "#firstName", FORMS + "#email", SEARCH + "#byName", CART + "#addToCart");
+        }
+
+        @DisplayName("Runs the tests that mocked routes when the mock API changes")
+        @Test
+        void changedMockApi() {
+            var result = select(change("src/test/java/com/serenitydojo/playwright/mock/MockApi.java", "x"));
+
+            assertThat(result.selected()).containsOnlyKeys(CART + "#addToCart");
+        }
+
+        @DisplayName("Runs nothing for documentation and CI changes")
+        @Test
+        void ignoredChanges() {
+            var result = select(change("README.md", "x"), change(".github/workflows/playwright-tests.yml", "x"));
+
+            assertThat(result.isFullRun()).isFalse();
+            assertThat(result.selected()).isEmpty();
+        }
+
+        @DisplayName("Asks for a full run when shared infrastructure or the build changes")
+        @Test
+        void fullRun() {
+            assertThat(select(change("pom.xml", "x")).fullRunReason()).hasValueSatisfying(reason -> assertThat(reason).contains("pom.xml"));
+            assertThat(select(change("src/test/java/com/serenitydojo/playwright/SharedBrowserExtension.java", "x")).isFullRun()).isTrue();
+        }
+
+        @DisplayName("Asks for a full run when a file named like a test class has no tests in the index, such as an annotation")
+        @Test
+        void changedTestAnnotation() {
+            assertThat(select(change("src/test/java/com/serenitydojo/playwright/CrossBrowserTest.java", "x")).isFullRun()).isTrue();
+            assertThat(select(change("src/test/java/com/serenitydojo/playwright/flaky/RetryingTest.java", "x")).isFullRun()).isTrue();
+        }
+    }
+
+    private static TestSelection.Result select(GitDiff.ChangedFile... changes) {
+        return TestSelection.select(INDEX, List.of(changes));
+    }
+
+    private static GitDiff.ChangedFile change(String path, String... lines) {
+        return new GitDiff.ChangedFile(path, List.of(lines));
+    }
+}
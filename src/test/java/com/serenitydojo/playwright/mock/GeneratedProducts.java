@@ -0,0 +1,47 @@
+package com.serenitydojo.playwright.mock;
+
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Product lists of any size, in the shape of the /products API, for exercising the UI with large catalogues.
+ * The same count always produces the same products.
+ */
+public class GeneratedProducts {
+
+    private static final String[] KINDS = {"Pliers", "Hammer", "Wrench", "Screwdriver", "Saw", "Drill", "Sander", "Chisel"};
+    private static final String[] IMAGES = {"pliers01.avif", "hammer01.avif", "wrench01.avif", "screwdriver01.avif",
+            "saw01.avif", "drill01.avif", "sander01.avif", "chisels01.avif"};
+
+    public static List<JsonObject> of(int count) {
+        List<JsonObject> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    private static JsonObject product(int number) {
+        int kind = number % KINDS.length;
+        String id = String.format("GENERATED%017d", number);
+
+        JsonObject image = new JsonObject();
+        image.addProperty("id", id + "I");
+        image.addProperty("file_name", IMAGES[kind]);
+        image.addProperty("title", KINDS[kind]);
+
+        JsonObject product = new JsonObject();
+        product.addProperty("id", id);
+        product.addProperty("name", String.format("%s %05d", KINDS[kind], number));
+        product.addProperty("description", "Generated product " + number);
+        // Spread prices between 1.00 and 200.99 so sorting by price has something to do
+        product.addProperty("price", 1 + (number * 7919 % 20000) / 100.0);
+        product.addProperty("is_location_offer", false);
+        product.addProperty("is_rental", false);
+        product.addProperty("in_stock", number % 10 != 0);
+        product.add("product_image", image);
+        return product;
+    }
+}
@@ -0,0 +1,186 @@
+package com.serenitydojo.playwright.mock;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import com.serenitydojo.playwright.SharedBrowserExtension;
+import com.serenitydojo.playwright.Toolshop;
+import com.serenitydojo.playwright.impact.TestImpact;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Serves canned responses for Toolshop API calls, matched by method, path and query parameters:
+ * <pre>
+ * MockApi.forToolshop()
+ *         .get("/products/search").withQuery("q", "pliers").respondWith(MockResponse.json(MockSearchResponses.RESPONSE_WITH_A_SINGLE_ENTRY))
+ *         .get("/products").respondWith(MockResponse.productPages(GeneratedProducts.of(10_000)))
+ *         .installOn(page);
+ * </pre>
+ * Paths are relative to the API root, and may contain {name} segments that match any value.
+ * The first matching route wins; requests that match no route go through to the real API as usual.
+ * <p>
+ * Simulated latency is applied inside the route handler, which Playwright runs on the test's thread,
+ * so concurrent mocked requests are delayed one after another.
+ */
+public class MockApi {
+
+    private static final Map<String, String> HEADERS = Map.of("Access-Control-Allow-Origin", "*");
+
+    private record MockRoute(String method, Pattern path, List<Predicate<Map<String, String>>> query, MockResponse response) {
+        boolean matches(String requestMethod, String requestPath, Map<String, String> parameters) {
+            return method.equals(requestMethod) && path.matcher(requestPath).matches()
+                    && query.stream().allMatch(predicate -> predicate.test(parameters));
+        }
+    }
+
+    private final String apiUrl;
+    private final String apiPath;
+    private final List<MockRoute> routes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger served = new AtomicInteger();
+    private Duration latency = Duration.ZERO;
+
+    private MockApi(String apiUrl) {
+        this.apiUrl = apiUrl;
+        this.apiPath = URI.create(apiUrl).getPath();
+    }
+
+    public static MockApi forToolshop() {
+        return new MockApi(Toolshop.apiUrl());
+    }
+
+    public static MockApi forApiAt(String apiUrl) {
+        return new MockApi(apiUrl);
+    }
+
+    public RouteBuilder get(String path) {
+        return new RouteBuilder("GET", path);
+    }
+
+    public RouteBuilder post(String path) {
+        return new RouteBuilder("POST", path);
+    }
+
+    public RouteBuilder on(String method, String path) {
+        return new RouteBuilder(method.toUpperCase(), path);
+    }
+
+    public MockApi withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public MockApi installOn(Page page) {
+        page.route(this::isApiUrl, this::handle);
+        SharedBrowserExtension.doNotReuse(page.context());
+        return this;
+    }
+
+    public MockApi installOn(BrowserContext context) {
+        context.route(this::isApiUrl, this::handle);
+        return this;
+    }
+
+    public int requestsServed() {
+        return served.get();
+    }
+
+    private boolean isApiUrl(String url) {
+        return url.startsWith(apiUrl);
+    }
+
+    private void handle(Route route) {
+        URI uri = URI.create(route.request().url());
+        Optional<MockResponse> response = responseFor(route.request().method(), uri);
+        if (response.isEmpty()) {
+            route.fallback();
+            return;
+        }
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        served.incrementAndGet();
+        route.fulfill(new Route.FulfillOptions()
+                .setStatus(response.get().status())
+                .setContentType("application/json")
+                .setHeaders(HEADERS)
+                .setBodyBytes(response.get().body(queryParameters(uri.getRawQuery()))));
+    }
+
+    Optional<MockResponse> responseFor(String method, URI uri) {
+        String path = uri.getPath().startsWith(apiPath) ? uri.getPath().substring(apiPath.length()) : uri.getPath();
+        Map<String, String> parameters = queryParameters(uri.getRawQuery());
+        return routes.stream()
+                .filter(route -> route.matches(method, path, parameters))
+                .map(MockRoute::response)
+                .findFirst();
+    }
+
+    private static Map<String, String> queryParameters(String rawQuery) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static Pattern pathPattern(String path) {
+        return Pattern.compile(Arrays.stream(path.split("/", -1))
+                .map(segment -> segment.matches("\\{\\w+}") ? "[^/]+" : Pattern.quote(segment))
+                .collect(Collectors.joining("/")));
+    }
+
+    public class RouteBuilder {
+        private final String method;
+        private final String path;
+        private final List<Predicate<Map<String, String>>> query = new ArrayList<>();
+
+        private RouteBuilder(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        /**
+         * Only matches requests with this query parameter value, ignoring case as the Toolshop search does.
+         */
+        public RouteBuilder withQuery(String name, String value) {
+            query.add(parameters -> value.equalsIgnoreCase(parameters.get(name)));
+            return this;
+        }
+
+        public RouteBuilder withQuery(Predicate<Map<String, String>> predicate) {
+            query.add(predicate);
+            return this;
+        }
+
+        public MockApi respondWith(MockResponse response) {
+            TestImpact.routeMocked(method, path);
+            routes.add(new MockRoute(method, pathPattern(path), List.copyOf(query), response));
+            return MockApi.this;
+        }
+    }
+}
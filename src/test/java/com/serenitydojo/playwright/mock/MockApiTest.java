@@ -0,0 +1,71 @@
+package com.serenitydojo.playwright.mock;
+
+import com.serenitydojo.playwright.MockSearchResponses;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MockApiTest {
+
+    MockApi api = MockApi.forApiAt("http://localhost:8080/api")
+            .get("/products/search").withQuery("q", "pliers").respondWith(MockResponse.json(MockSearchResponses.RESPONSE_WITH_A_SINGLE_ENTRY))
+            .get("/products/search").respondWith(MockResponse.json(MockSearchResponses.RESPONSE_WITH_NO_ENTRIES))
+            .get("/products/{id}").respondWith(MockResponse.status(404, "{\"message\": \"Requested item not found\"}"))
+            .get("/products").respondWith(MockResponse.productPages(GeneratedProducts.of(10_000)));
+
+    @DisplayName("Picks the first route whose method, path and query match")
+    @Test
+    void matchesOnQueryParameters() {
+        assertThat(api.responseFor("GET", URI.create("http://localhost:8080/api/products/search?q=Pliers")))
+                .hasValueSatisfying(response -> assertThat(body(response, Map.of())).contains("Super Pliers"));
+        assertThat(api.responseFor("GET", URI.create("http://localhost:8080/api/products/search?q=saw")))
+                .hasValueSatisfying(response -> assertThat(body(response, Map.of())).contains("\"total\": 0"));
+    }
+
+    @DisplayName("Matches {name} path segments and leaves other requests alone")
+    @Test
+    void matchesPathVariables() {
+        assertThat(api.responseFor("GET", URI.create("http://localhost:8080/api/products/01ABC")))
+                .hasValueSatisfying(response -> assertThat(response.status()).isEqualTo(404));
+        assertThat(api.responseFor("POST", URI.create("http://localhost:8080/api/products"))).isEmpty();
+        assertThat(api.responseFor("GET", URI.create("http://localhost:8080/api/brands"))).isEmpty();
+    }
+
+    @DisplayName("Serves large generated catalogues one cached page at a time")
+    @Test
+    void servesGeneratedPages() {
+        MockResponse pages = MockResponse.productPages(GeneratedProducts.of(10_000));
+
+        String lastPage = body(pages, Map.of("page", "1112"));
+
+        assertThat(lastPage).contains("\"current_page\":1112", "\"last_page\":1112", "\"total\":10000", "\"to\":10000");
+        assertThat(pages.body(Map.of("page", "1112"))).isSameAs(pages.body(Map.of("page", "1112")));
+        assertThat(pages.cachedBodies()).isEqualTo(1);
+    }
+
+    @DisplayName("Serves the first page when the page asked for isn't a number")
+    @Test
+    void servesTheFirstPageForAnInvalidPageNumber() {
+        MockResponse pages = MockResponse.productPages(GeneratedProducts.of(20));
+
+        assertThat(body(pages, Map.of("page", "next"))).contains("\"current_page\":1", "\"last_page\":3", "\"to\":9");
+    }
+
+    @DisplayName("Fills templates from the query parameters")
+    @Test
+    void fillsTemplates() {
+        MockResponse template = MockResponse.template("{\"searched_for\": \"{{q}}\"}", "q");
+
+        assertThat(body(template, Map.of("q", "hammer"))).isEqualTo("{\"searched_for\": \"hammer\"}");
+        assertThat(body(template, Map.of("q", "say \"hi\""))).isEqualTo("{\"searched_for\": \"say \\\"hi\\\"\"}");
+    }
+
+    private static String body(MockResponse response, Map<String, String> query) {
+        return new String(response.body(query), StandardCharsets.UTF_8);
+    }
+}
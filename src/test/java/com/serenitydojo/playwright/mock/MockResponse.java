@@ -0,0 +1,95 @@
+package com.serenitydojo.playwright.mock;
+
+import com.google.gson.JsonObject;
+import com.serenitydojo.playwright.stub.Catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A canned response for {@link MockApi}. Bodies are serialised once and cached as bytes,
+ * per page or per template parameter values, so serving a request again costs no JSON work.
+ */
+public final class MockResponse {
+
+    private final int status;
+    private final Function<Map<String, String>, String> cacheKey;
+    private final Function<Map<String, String>, String> renderer;
+    private final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+
+    private MockResponse(int status, Function<Map<String, String>, String> cacheKey, Function<Map<String, String>, String> renderer) {
+        this.status = status;
+        this.cacheKey = cacheKey;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Always the same JSON body, e.g. one of the {@link com.serenitydojo.playwright.MockSearchResponses}.
+     */
+    public static MockResponse json(String body) {
+        return status(200, body);
+    }
+
+    public static MockResponse status(int status, String body) {
+        MockResponse response = new MockResponse(status, query -> "", query -> body);
+        response.body(Map.of());
+        return response;
+    }
+
+    /**
+     * A JSON body with {{name}} placeholders filled in from the query parameters of the request.
+     */
+    public static MockResponse template(String template, String... parameterNames) {
+        return new MockResponse(200,
+                query -> String.join("\u0000", List.of(parameterNames).stream().map(name -> query.getOrDefault(name, "")).toList()),
+                query -> {
+                    String body = template;
+                    for (String name : parameterNames) {
+                        body = body.replace("{{" + name + "}}", escape(query.getOrDefault(name, "")));
+                    }
+                    return body;
+                });
+    }
+
+    /**
+     * The products, paged like the real /products endpoint, with the page chosen by the "page" query parameter.
+     */
+    public static MockResponse productPages(List<JsonObject> products) {
+        int lastPage = Math.max(1, (products.size() + Catalog.PAGE_SIZE - 1) / Catalog.PAGE_SIZE);
+        Function<Map<String, String>, String> pageNumber = query -> String.valueOf(Math.min(requestedPage(query), lastPage));
+        return new MockResponse(200, pageNumber, query -> {
+            int page = Integer.parseInt(pageNumber.apply(query));
+            int from = (page - 1) * Catalog.PAGE_SIZE;
+            List<JsonObject> items = products.subList(Math.min(from, products.size()), Math.min(from + Catalog.PAGE_SIZE, products.size()));
+            return Catalog.page(items, page, products.size()).toString();
+        });
+    }
+
+    // A handler that throws leaves the request hanging until the test times out, so serve page 1 instead
+    private static int requestedPage(Map<String, String> query) {
+        try {
+            return Math.max(1, Integer.parseInt(query.getOrDefault("page", "1")));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    int status() {
+        return status;
+    }
+
+    byte[] body(Map<String, String> query) {
+        return cache.computeIfAbsent(cacheKey.apply(query), key -> renderer.apply(query).getBytes(StandardCharsets.UTF_8));
+    }
+
+    int cachedBodies() {
+        return cache.size();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
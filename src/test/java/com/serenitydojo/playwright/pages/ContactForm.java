@@ -0,0 +1,76 @@
+package com.serenitydojo.playwright.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+
+import java.nio.file.Path;
+
+/**
+ * The contact form, with its fields found by label as a user would find them.
+ */
+public class ContactForm extends ToolshopPage {
+
+    public ContactForm(Page page) {
+        super(page);
+    }
+
+    public ContactForm open() {
+        page.navigate("/contact");
+        return this;
+    }
+
+    public Locator firstName() {
+        return locator("first name", page -> page.getByLabel("First name"));
+    }
+
+    public Locator lastName() {
+        return locator("last name", page -> page.getByLabel("Last name"));
+    }
+
+    public Locator email() {
+        return locator("email", page -> page.getByLabel("Email"));
+    }
+
+    public Locator subject() {
+        return locator("subject", page -> page.getByLabel("Subject"));
+    }
+
+    public Locator message() {
+        return locator("message", page -> page.getByLabel("Message"));
+    }
+
+    public Locator attachment() {
+        return locator("attachment", page -> page.getByLabel("Attachment"));
+    }
+
+    public Locator sendButton() {
+        return locator("send button", page -> page.getByText("Send"));
+    }
+
+    public Locator field(String label) {
+        return locator("field " + label, page -> page.getByLabel(label));
+    }
+
+    public Locator errorMessage(String text) {
+        return locator("error " + text, page -> page.getByRole(AriaRole.ALERT).getByText(text));
+    }
+
+    public ContactForm complete(String firstName, String lastName, String email, String subject, String message) {
+        firstName().fill(firstName);
+        lastName().fill(lastName);
+        email().fill(email);
+        message().fill(message);
+        subject().selectOption(subject);
+        return this;
+    }
+
+    public ContactForm attach(Path file) {
+        attachment().setInputFiles(file);
+        return this;
+    }
+
+    public void send() {
+        sendButton().click();
+    }
+}
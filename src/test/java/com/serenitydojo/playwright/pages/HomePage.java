@@ -0,0 +1,59 @@
+package com.serenitydojo.playwright.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+import com.serenitydojo.playwright.CatalogReadiness;
+
+/**
+ * The catalogue home page: search, sort and filter controls above the product grid.
+ */
+public class HomePage extends ToolshopPage {
+
+    private final SearchResults results;
+
+    public HomePage(Page page) {
+        super(page);
+        this.results = new SearchResults(page);
+    }
+
+    public HomePage open() {
+        page.navigate("/");
+        CatalogReadiness.of(page).productsDisplayed();
+        return this;
+    }
+
+    public Locator searchField() {
+        return locator("search field", page -> page.getByPlaceholder("Search"));
+    }
+
+    public Locator searchButton() {
+        return locator("search button", page -> page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")));
+    }
+
+    public Locator sortOptions() {
+        return locator("sort options", page -> page.getByTestId("sort"));
+    }
+
+    public SearchResults searchFor(String term) {
+        CatalogReadiness.of(page).productsLoadedAfter(() -> {
+            searchField().fill(term);
+            searchButton().click();
+        });
+        return results;
+    }
+
+    public SearchResults sortBy(String sortOption) {
+        CatalogReadiness.of(page).productsLoadedAfter(() -> sortOptions().selectOption(sortOption));
+        return results;
+    }
+
+    public SearchResults filterBy(String categoryOrBrand) {
+        CatalogReadiness.of(page).productsLoadedAfter(() -> page.getByLabel(categoryOrBrand).click());
+        return results;
+    }
+
+    public SearchResults results() {
+        return results;
+    }
+}
@@ -0,0 +1,51 @@
+package com.serenitydojo.playwright.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.serenitydojo.playwright.CatalogReadiness;
+
+/**
+ * The sign in form.
+ */
+public class LoginPage extends ToolshopPage {
+
+    public LoginPage(Page page) {
+        super(page);
+    }
+
+    public LoginPage open() {
+        page.navigate("/auth/login");
+        CatalogReadiness.of(page).testIdVisible("login-submit");
+        return this;
+    }
+
+    public Locator email() {
+        return locator("email", page -> page.getByTestId("email"));
+    }
+
+    public Locator password() {
+        return locator("password", page -> page.getByTestId("password"));
+    }
+
+    public Locator loginButton() {
+        return locator("login button", page -> page.getByTestId("login-submit"));
+    }
+
+    public Locator emailError() {
+        return locator("email error", page -> page.getByTestId("email-error"));
+    }
+
+    public Locator passwordError() {
+        return locator("password error", page -> page.getByTestId("password-error"));
+    }
+
+    public Locator loginError() {
+        return locator("login error", page -> page.getByTestId("login-error"));
+    }
+
+    public void logInAs(String email, String password) {
+        email().fill(email);
+        password().fill(password);
+        loginButton().click();
+    }
+}
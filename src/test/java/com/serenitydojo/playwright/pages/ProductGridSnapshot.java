@@ -0,0 +1,74 @@
+package com.serenitydojo.playwright.pages;
+
+import com.microsoft.playwright.Page;
+import com.serenitydojo.playwright.impact.TestImpact;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the catalogue grid shows, read in a single page.evaluate() call.
+ * Tests can make as many assertions as they like against a snapshot without going back to the browser,
+ * where reading names, prices and counts through separate locators costs one driver round trip each.
+ */
+public record ProductGridSnapshot(List<Card> cards, String searchCaption, int currentPage) {
+
+    public record Card(String name, double price, boolean inStock, String imageUrl, boolean imageLoaded) {}
+
+    private static final String READ_GRID = """
+            () => {
+                const text = (element, selector) => element.querySelector(selector)?.textContent.trim() ?? '';
+                const cards = [...document.querySelectorAll('.card')].map(card => {
+                    const image = card.querySelector('img.card-img-top');
+                    return {
+                        name: text(card, '[data-test=product-name]'),
+                        price: text(card, '[data-test=product-price]').replace(/[^0-9.]/g, '') || '0',
+                        inStock: !card.querySelector('[data-test=out-of-stock]'),
+                        imageUrl: image ? (image.currentSrc || image.src) : '',
+                        imageLoaded: !!image && image.complete && image.naturalHeight > 0
+                    };
+                });
+                const caption = document.querySelector('[data-test=search-caption]');
+                const activePage = document.querySelector('li.page-item.active');
+                return {
+                    cards: cards,
+                    searchCaption: caption && !caption.hidden ? caption.textContent.trim() : '',
+                    currentPage: activePage ? Number(activePage.textContent.trim()) || 1 : 1
+                };
+            }""";
+
+    @SuppressWarnings("unchecked")
+    public static ProductGridSnapshot of(Page page) {
+        TestImpact.pageObjectUsed(ProductGridSnapshot.class.getSimpleName());
+        Map<String, Object> grid = (Map<String, Object>) page.evaluate(READ_GRID);
+        List<Card> cards = ((List<Map<String, Object>>) grid.get("cards")).stream()
+                .map(card -> new Card(
+                        (String) card.get("name"),
+                        Double.parseDouble((String) card.get("price")),
+                        (Boolean) card.get("inStock"),
+                        (String) card.get("imageUrl"),
+                        (Boolean) card.get("imageLoaded")))
+                .toList();
+        return new ProductGridSnapshot(cards, (String) grid.get("searchCaption"), ((Number) grid.get("currentPage")).intValue());
+    }
+
+    public int count() {
+        return cards.size();
+    }
+
+    public List<String> names() {
+        return cards.stream().map(Card::name).toList();
+    }
+
+    public List<Double> prices() {
+        return cards.stream().map(Card::price).toList();
+    }
+
+    public List<String> outOfStockNames() {
+        return cards.stream().filter(card -> !card.inStock()).map(Card::name).toList();
+    }
+
+    public List<String> brokenImages() {
+        return cards.stream().filter(card -> !card.imageLoaded()).map(Card::imageUrl).toList();
+    }
+}
@@ -0,0 +1,49 @@
+package com.serenitydojo.playwright.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.serenitydojo.playwright.CatalogReadiness;
+import com.serenitydojo.playwright.TestDataSeeder.NewCustomer;
+
+/**
+ * The customer registration form. Fields and their errors are found by test id, e.g. "postal_code" and "postal_code-error".
+ */
+public class RegisterPage extends ToolshopPage {
+
+    public RegisterPage(Page page) {
+        super(page);
+    }
+
+    public RegisterPage open() {
+        page.navigate("/auth/register");
+        CatalogReadiness.of(page).testIdVisible("register-submit");
+        return this;
+    }
+
+    public Locator field(String testId) {
+        return locator(testId, page -> page.getByTestId(testId));
+    }
+
+    public Locator errorFor(String testId) {
+        return field(testId + "-error");
+    }
+
+    public Locator registerButton() {
+        return field("register-submit");
+    }
+
+    public void register(NewCustomer customer) {
+        field("first-name").fill(customer.firstName());
+        field("last-name").fill(customer.lastName());
+        field("dob").fill(customer.dob());
+        field("street").fill(customer.street());
+        field("postal_code").fill(customer.postalCode());
+        field("city").fill(customer.city());
+        field("state").fill(customer.state());
+        field("country").selectOption(customer.country());
+        field("phone").fill(customer.phone());
+        field("email").fill(customer.email());
+        field("password").fill(customer.password());
+        registerButton().click();
+    }
+}
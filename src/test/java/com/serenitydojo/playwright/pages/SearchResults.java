@@ -0,0 +1,47 @@
+package com.serenitydojo.playwright.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.util.List;
+
+/**
+ * The product grid of the catalogue, after a search, a filter or a sort.
+ * The bulk reads fetch the whole grid in a single round trip to the browser, see {@link ProductGridSnapshot}.
+ */
+public class SearchResults extends ToolshopPage {
+
+    public SearchResults(Page page) {
+        super(page);
+    }
+
+    public Locator productCards() {
+        return locator("product cards", page -> page.locator(".card"));
+    }
+
+    public Locator productNameLabels() {
+        return locator("product names", page -> page.getByTestId("product-name"));
+    }
+
+    public Locator searchCaption() {
+        return locator("search caption", page -> page.getByTestId("search-caption"));
+    }
+
+    public Locator outOfStockProductNames() {
+        return locator("out of stock product names", page -> page.locator(".card")
+                .filter(new Locator.FilterOptions().setHasText("Out of stock"))
+                .getByTestId("product-name"));
+    }
+
+    public ProductGridSnapshot snapshot() {
+        return ProductGridSnapshot.of(page);
+    }
+
+    public List<String> productNames() {
+        return snapshot().names();
+    }
+
+    public List<Double> productPrices() {
+        return snapshot().prices();
+    }
+}
@@ -0,0 +1,35 @@
+package com.serenitydojo.playwright.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.serenitydojo.playwright.impact.TestImpact;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Base class for the Toolshop page objects. Each Locator is built the first time it is used,
+ * then kept for the life of the page object, so tests don't rebuild the same selectors over and over.
+ */
+abstract class ToolshopPage {
+
+    protected final Page page;
+    private final Map<String, Locator> locators = new HashMap<>();
+
+    protected ToolshopPage(Page page) {
+        this.page = page;
+        TestImpact.pageObjectUsed(getClass().getSimpleName());
+    }
+
+    protected Locator locator(String name, Function<Page, Locator> factory) {
+        return locators.computeIfAbsent(name, key -> {
+            TestImpact.selectorUsed(getClass().getSimpleName(), name);
+            return factory.apply(page);
+        });
+    }
+
+    public Page page() {
+        return page;
+    }
+}
@@ -0,0 +1,70 @@
+package com.serenitydojo.playwright.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits test classes into shards that should take about the same time, using the durations of earlier runs.
+ * Each test class and each @Nested class is a unit that goes to exactly one shard.
+ * <p>
+ * The longest units are placed first, each on the shard with the least work so far. Ties are broken by name
+ * and shard number, so every JVM that plans the same units comes up with the same split.
+ */
+public record ShardPlan(List<Bin> bins) {
+
+    public record Unit(String name, long estimatedMillis) {}
+
+    public record Bin(int index, List<Unit> units, long estimatedMillis) {
+
+        public boolean contains(String unitName) {
+            return units.stream().anyMatch(unit -> unit.name().equals(unitName));
+        }
+    }
+
+    public static ShardPlan balance(Collection<Unit> units, int shardCount) {
+        List<List<Unit>> assigned = new ArrayList<>();
+        long[] loads = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            assigned.add(new ArrayList<>());
+        }
+
+        List<Unit> longestFirst = units.stream()
+                .sorted(Comparator.comparingLong(Unit::estimatedMillis).reversed().thenComparing(Unit::name))
+                .toList();
+        for (Unit unit : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            assigned.get(lightest).add(unit);
+            loads[lightest] += unit.estimatedMillis();
+        }
+
+        List<Bin> bins = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            bins.add(new Bin(i + 1, List.copyOf(assigned.get(i)), loads[i]));
+        }
+        return new ShardPlan(List.copyOf(bins));
+    }
+
+    public Bin bin(TestShard shard) {
+        return bins.get(shard.index() - 1);
+    }
+
+    public long totalMillis() {
+        return bins.stream().mapToLong(Bin::estimatedMillis).sum();
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Bin bin : bins) {
+            summary.append(String.format("  shard %d/%d: %d test classes, ~%d s%n",
+                    bin.index(), bins.size(), bin.units().size(), bin.estimatedMillis() / 1000));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.serenitydojo.playwright.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardPlanTest {
+
+    private static final List<ShardPlan.Unit> UNITS = List.of(
+            new ShardPlan.Unit("PlaywrightLocatorsTest", 40_000),
+            new ShardPlan.Unit("PlaywrightLocatorsTest$NestedLocators", 35_000),
+            new ShardPlan.Unit("PlayWrightFormsTest", 30_000),
+            new ShardPlan.Unit("PlaywrightWaitsTest", 20_000),
+            new ShardPlan.Unit("PlayWrightAssertionsTest$LocatingElementsUsingCSS", 20_000),
+            new ShardPlan.Unit("AddingItemsToTheCartTest", 10_000),
+            new ShardPlan.Unit("ProductListResponseTest", 100));
+
+    @DisplayName("Puts every test class on exactly one shard")
+    @Test
+    void everyUnitRunsOnce() {
+        ShardPlan plan = ShardPlan.balance(UNITS, 3);
+
+        assertThat(plan.bins()).flatExtracting(ShardPlan.Bin::units).containsExactlyInAnyOrderElementsOf(UNITS);
+        assertThat(plan.totalMillis()).isEqualTo(155_100);
+    }
+
+    @DisplayName("Balances the shards by duration rather than by number of classes")
+    @Test
+    void balancesByDuration() {
+        ShardPlan plan = ShardPlan.balance(UNITS, 3);
+
+        assertThat(plan.bins()).extracting(ShardPlan.Bin::estimatedMillis)
+                .allSatisfy(millis -> assertThat(millis).isBetween(50_000L, 55_100L));
+    }
+
+    @DisplayName("Comes up with the same plan whatever order the classes were found in")
+    @Test
+    void isDeterministic() {
+        List<ShardPlan.Unit> reversed = new ArrayList<>(UNITS);
+        Collections.reverse(reversed);
+
+        assertThat(ShardPlan.balance(reversed, 4)).isEqualTo(ShardPlan.balance(UNITS, 4));
+    }
+
+    @DisplayName("Leaves shards empty when there are fewer classes than shards")
+    @Test
+    void moreShardsThanClasses() {
+        ShardPlan plan = ShardPlan.balance(UNITS.subList(0, 2), 4);
+
+        assertThat(plan.bin(new TestShard(1, 4)).units()).hasSize(1);
+        assertThat(plan.bin(new TestShard(4, 4)).units()).isEmpty();
+    }
+
+    @DisplayName("Reads the shard from index/count")
+    @Test
+    void parsesTheShard() {
+        assertThat(TestShard.parse("2/4")).isEqualTo(new TestShard(2, 4));
+        assertThatThrownBy(() -> TestShard.parse("5/4")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TestShard.parse("two")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.serenitydojo.playwright.sharding;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every test class and @Nested class of the run and adds the results to {@link TestDurations},
+ * which the next sharded run uses to balance its shards. Registered with the JUnit Platform in META-INF/services.
+ * <p>
+ * A class is charged for its own tests only: the time spent in its @Nested classes is taken off,
+ * as those may run on another shard.
+ */
+public class TestDurationRecorder implements TestExecutionListener {
+
+    private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+    private final Map<String, Long> classNanos = new ConcurrentHashMap<>();
+    private final Map<String, Long> nestedClassNanos = new ConcurrentHashMap<>();
+    private final Map<String, Integer> testsPerClass = new ConcurrentHashMap<>();
+    private TestPlan testPlan;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        this.testPlan = testPlan;
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        if (isTestClass(identifier)) {
+            startTimes.put(identifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        if (identifier.isTest()) {
+            enclosingClass(identifier).ifPresent(testClass -> testsPerClass.merge(className(testClass), 1, Integer::sum));
+        }
+        Long start = startTimes.remove(identifier.getUniqueId());
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        classNanos.merge(className(identifier), nanos, Long::sum);
+        testPlan.getParent(identifier)
+                .filter(TestDurationRecorder::isTestClass)
+                .ifPresent(outerClass -> nestedClassNanos.merge(className(outerClass), nanos, Long::sum));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Map<String, TestDurations.Duration> measured = new TreeMap<>();
+        testsPerClass.forEach((className, tests) -> {
+            long ownNanos = classNanos.getOrDefault(className, 0L) - nestedClassNanos.getOrDefault(className, 0L);
+            measured.put(className, new TestDurations.Duration(Math.max(0, ownNanos) / 1_000_000, tests));
+        });
+        TestDurations.record(TestDurations.file(), measured);
+    }
+
+    private Optional<TestIdentifier> enclosingClass(TestIdentifier identifier) {
+        Optional<TestIdentifier> parent = testPlan.getParent(identifier);
+        while (parent.isPresent() && !isTestClass(parent.get())) {
+            parent = testPlan.getParent(parent.get());
+        }
+        return parent;
+    }
+
+    private static boolean isTestClass(TestIdentifier identifier) {
+        return identifier.getSource().orElse(null) instanceof ClassSource;
+    }
+
+    private static String className(TestIdentifier identifier) {
+        return ((ClassSource) identifier.getSource().orElseThrow()).getClassName();
+    }
+}
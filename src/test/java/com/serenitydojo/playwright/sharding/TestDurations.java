@@ -0,0 +1,113 @@
+package com.serenitydojo.playwright.sharding;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.serenitydojo.playwright.SharedFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * How long each test class (and each @Nested class, on its own) took in earlier runs.
+ * Kept in target/test-durations.json, or the file given with -Dtest.shard.durations,
+ * so CI can cache it between builds. Shards plan from -Dtest.shard.plan instead when it is set,
+ * so shards started together can all plan from the same copy while they record into the shared file.
+ */
+public class TestDurations {
+
+    public record Duration(long millis, int tests) {}
+
+    // Used for classes that have never been timed, until the first run has measured them
+    private static final long DEFAULT_MILLIS_PER_TEST = 2000;
+
+    private final Map<String, Duration> durations;
+
+    private TestDurations(Map<String, Duration> durations) {
+        this.durations = durations;
+    }
+
+    public static Path file() {
+        return Paths.get(System.getProperty("test.shard.durations", "target/test-durations.json"));
+    }
+
+    public static TestDurations load() {
+        return load(planningFile());
+    }
+
+    public static Path planningFile() {
+        return Paths.get(System.getProperty("test.shard.plan", file().toString()));
+    }
+
+    public static TestDurations load(Path file) {
+        Map<String, Duration> durations = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return new TestDurations(durations);
+        }
+        try {
+            JsonObject classes = JsonParser.parseString(Files.readString(file)).getAsJsonObject();
+            classes.entrySet().forEach(entry -> {
+                JsonObject duration = entry.getValue().getAsJsonObject();
+                durations.put(entry.getKey(), new Duration(duration.get("millis").getAsLong(), duration.get("tests").getAsInt()));
+            });
+        } catch (IOException | RuntimeException e) {
+            // A damaged history only makes the split less even, it must never stop the tests from running
+            System.out.printf("Test shards: ignoring unreadable durations in %s (%s)%n", file, e.getMessage());
+        }
+        return new TestDurations(durations);
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    public int size() {
+        return durations.size();
+    }
+
+    /**
+     * The expected duration of a class, estimated from its number of tests if it has never been timed.
+     */
+    public long estimatedMillis(String className, int tests) {
+        Duration duration = durations.get(className);
+        if (duration != null) {
+            return duration.millis();
+        }
+        return Math.max(1, tests) * averageMillisPerTest();
+    }
+
+    private long averageMillisPerTest() {
+        long millis = durations.values().stream().mapToLong(Duration::millis).sum();
+        int tests = durations.values().stream().mapToInt(Duration::tests).sum();
+        return (tests == 0) ? DEFAULT_MILLIS_PER_TEST : Math.max(1, millis / tests);
+    }
+
+    /**
+     * Folds the durations of this run into the history file. Shards running side by side on the same machine
+     * share the file, so the update holds a lock and only touches the classes this run has measured.
+     * Old and new durations are averaged, which keeps one slow run from reshuffling every shard.
+     */
+    static void record(Path file, Map<String, Duration> measured) {
+        if (measured.isEmpty()) {
+            return;
+        }
+        SharedFile.update(file, "test durations", () -> {
+            Map<String, Duration> history = load(file).durations;
+            measured.forEach((className, duration) -> history.merge(className, duration,
+                    (previous, latest) -> new Duration((previous.millis() + latest.millis()) / 2, latest.tests())));
+
+            JsonObject json = new JsonObject();
+            history.forEach((className, duration) -> {
+                JsonObject entry = new JsonObject();
+                entry.addProperty("millis", duration.millis());
+                entry.addProperty("tests", duration.tests());
+                json.add(className, entry);
+            });
+            return new GsonBuilder().setPrettyPrinting().create().toJson(json);
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.serenitydojo.playwright.sharding;
+
+import java.util.Optional;
+
+/**
+ * One slice of the test suite, chosen with -Dtest.shard=index/count, e.g. -Dtest.shard=2/4.
+ * Shards are numbered from 1, so the shards of a four-way split are 1/4, 2/4, 3/4 and 4/4.
+ */
+public record TestShard(int index, int count) {
+
+    public TestShard {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Invalid test shard " + index + "/" + count
+                    + " - use -Dtest.shard=index/count, with index from 1 to count");
+        }
+    }
+
+    public static Optional<TestShard> fromSystemProperty() {
+        String shard = System.getProperty("test.shard", "").trim();
+        return shard.isEmpty() ? Optional.empty() : Optional.of(parse(shard));
+    }
+
+    public static TestShard parse(String shard) {
+        String[] parts = shard.split("/");
+        try {
+            if (parts.length == 2) {
+                return new TestShard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid test shard '" + shard + "' - use -Dtest.shard=index/count, e.g. 2/4");
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
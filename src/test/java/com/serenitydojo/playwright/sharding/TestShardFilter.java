@@ -0,0 +1,132 @@
+package com.serenitydojo.playwright.sharding;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only the tests of the shard selected with -Dtest.shard=index/count, and does nothing without it.
+ * Registered with the JUnit Platform in META-INF/services, so it applies to mvn test and to IDE runs alike.
+ * <p>
+ * Surefire discovers one test class at a time, so the plan can't be made from what is being filtered.
+ * Instead each JVM discovers every test class in the test output directory once, and as every shard
+ * finds the same classes and reads the same durations (see {@link TestDurations}),
+ * each shard works out the same {@link ShardPlan} on its own.
+ */
+public class TestShardFilter implements PostDiscoveryFilter {
+
+    // The classes surefire runs by default
+    private static final String[] TEST_CLASS_PATTERNS = {"^(.*\\.)?Test.*$", "^.*Tests?$", "^.*TestCase$"};
+
+    private static final Map<Set<Path>, ShardPlan> PLANS = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        Optional<TestShard> shard = TestShard.fromSystemProperty();
+        // Only the leaves are filtered: JUnit then prunes the classes that have no tests left
+        if (shard.isEmpty() || !descriptor.getChildren().isEmpty()) {
+            return FilterResult.included("not sharded");
+        }
+        Optional<ClassSource> unit = unitOf(descriptor);
+        if (unit.isEmpty()) {
+            return FilterResult.included("not in a test class");
+        }
+        Set<Path> classpathRoots = classpathRootOf(unit.get()).map(Set::of).orElse(Set.of());
+        ShardPlan plan = PLANS.computeIfAbsent(classpathRoots, roots -> plan(roots, shard.get()));
+        return isInShard(plan, shard.get(), unit.get().getClassName())
+                ? FilterResult.included("in test shard " + shard.get())
+                : FilterResult.excluded("not in test shard " + shard.get());
+    }
+
+    private static boolean isInShard(ShardPlan plan, TestShard shard, String className) {
+        Optional<ShardPlan.Bin> planned = plan.bins().stream().filter(bin -> bin.contains(className)).findFirst();
+        if (planned.isPresent()) {
+            return planned.get().index() == shard.index();
+        }
+        // Not a class surefire would pick up by its name, but selected explicitly, e.g. with -Dtest
+        return Math.floorMod(className.hashCode(), shard.count()) + 1 == shard.index();
+    }
+
+    private static ShardPlan plan(Set<Path> classpathRoots, TestShard shard) {
+        Map<String, Integer> testsPerUnit = testsPerUnitIn(classpathRoots);
+        TestDurations durations = TestDurations.load();
+        ShardPlan plan = ShardPlan.balance(testsPerUnit.entrySet().stream()
+                .map(unit -> new ShardPlan.Unit(unit.getKey(), durations.estimatedMillis(unit.getKey(), unit.getValue())))
+                .toList(), shard.count());
+        ShardPlan.Bin bin = plan.bin(shard);
+
+        System.out.printf("Test shard %s: running %d of %d test classes, ~%d s of ~%d s (%s)%n%s",
+                shard, bin.units().size(), testsPerUnit.size(), bin.estimatedMillis() / 1000, plan.totalMillis() / 1000,
+                durations.isEmpty() ? "no durations recorded yet, split by number of tests"
+                        : "durations of " + durations.size() + " classes from " + TestDurations.planningFile(),
+                plan.summary());
+        return plan;
+    }
+
+    private static Map<String, Integer> testsPerUnitIn(Set<Path> classpathRoots) {
+        Map<String, Integer> testsPerUnit = new TreeMap<>();
+        if (classpathRoots.isEmpty()) {
+            return testsPerUnit;
+        }
+        // A launcher of its own, without this filter or the duration recorder
+        var launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enablePostDiscoveryFilterAutoRegistration(false)
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClasspathRoots(classpathRoots))
+                .filters(ClassNameFilter.includeClassNamePatterns(TEST_CLASS_PATTERNS))
+                .build();
+        TestPlan testPlan = launcher.discover(request);
+        testPlan.getRoots().forEach(root -> collectUnits(testPlan, root, null, testsPerUnit));
+        return testsPerUnit;
+    }
+
+    private static void collectUnits(TestPlan testPlan, TestIdentifier identifier, String enclosingClass,
+                                     Map<String, Integer> testsPerUnit) {
+        String unit = (identifier.getSource().orElse(null) instanceof ClassSource source) ? source.getClassName() : enclosingClass;
+        Set<TestIdentifier> children = testPlan.getChildren(identifier);
+        if (children.isEmpty() && unit != null) {
+            testsPerUnit.merge(unit, 1, Integer::sum);
+        }
+        children.forEach(child -> collectUnits(testPlan, child, unit, testsPerUnit));
+    }
+
+    /**
+     * The innermost class of a test, so the tests of a @Nested class can run on a different shard to its outer class.
+     */
+    static Optional<ClassSource> unitOf(TestDescriptor descriptor) {
+        for (Optional<TestDescriptor> current = Optional.of(descriptor); current.isPresent(); current = current.get().getParent()) {
+            if (current.get().getSource().orElse(null) instanceof ClassSource source) {
+                return Optional.of(source);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Path> classpathRootOf(ClassSource source) {
+        try {
+            var location = source.getJavaClass().getProtectionDomain().getCodeSource().getLocation();
+            return Optional.of(Path.of(location.toURI()));
+        } catch (URISyntaxException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
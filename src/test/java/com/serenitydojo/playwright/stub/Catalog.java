@@ -0,0 +1,255 @@
+package com.serenitydojo.playwright.stub;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * The fixture data served by the stub, loaded from toolshop-stub/catalog.json.
+ * Products are rendered in the same JSON shape as the real API (see MockSearchResponses).
+ */
+public class Catalog {
+
+    public static final int PAGE_SIZE = 9;
+
+    public record Category(String id, String slug, String name, String parent) {}
+
+    public record Brand(String id, String slug, String name) {}
+
+    public record Product(String id, String name, String description, double price, boolean inStock,
+                          String category, String brand, String image) {}
+
+    public record User(String firstName, String lastName, String email, String password, String role) {}
+
+    private record CatalogData(List<Category> categories, List<Brand> brands, List<Product> products, List<User> users) {}
+
+    static final Gson GSON = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+
+    private final CatalogData data;
+
+    private Catalog(CatalogData data) {
+        this.data = data;
+    }
+
+    public static Catalog load() {
+        try (Reader reader = new InputStreamReader(
+                Catalog.class.getResourceAsStream("/toolshop-stub/catalog.json"), StandardCharsets.UTF_8)) {
+            return new Catalog(GSON.fromJson(reader, CatalogData.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the stub catalog", e);
+        }
+    }
+
+    public List<Product> products() {
+        return data.products();
+    }
+
+    public List<Category> categories() {
+        return data.categories();
+    }
+
+    public List<Brand> brands() {
+        return data.brands();
+    }
+
+    public List<User> users() {
+        return data.users();
+    }
+
+    public Optional<Product> product(String id) {
+        return data.products().stream().filter(product -> product.id().equals(id)).findFirst();
+    }
+
+    /**
+     * Supports the query parameters the front end uses: sort, by_category, by_brand, between and page.
+     */
+    public JsonObject findProducts(Map<String, String> query) {
+        Predicate<Product> filter = product -> true;
+        if (query.containsKey("by_category")) {
+            Set<String> slugs = categorySlugsIncludingChildren(idsIn(query.get("by_category")));
+            filter = filter.and(product -> slugs.contains(product.category()));
+        }
+        if (query.containsKey("by_brand")) {
+            Set<String> brandIds = idsIn(query.get("by_brand"));
+            filter = filter.and(product -> brandIds.contains(brand(product).id()));
+        }
+        if (query.containsKey("between")) {
+            // between=price,1,100
+            String[] range = query.get("between").split(",");
+            double min = Double.parseDouble(range[1]);
+            double max = Double.parseDouble(range[2]);
+            filter = filter.and(product -> product.price() >= min && product.price() <= max);
+        }
+
+        List<Product> matches = data.products().stream().filter(filter).collect(Collectors.toList());
+        if (query.containsKey("sort")) {
+            matches.sort(comparatorFor(query.get("sort")));
+        }
+        return page(matches, pageNumber(query));
+    }
+
+    public JsonObject searchProducts(Map<String, String> query) {
+        String term = query.getOrDefault("q", "").toLowerCase();
+        List<Product> matches = data.products().stream()
+                .filter(product -> product.name().toLowerCase().contains(term))
+                .toList();
+        return page(matches, pageNumber(query));
+    }
+
+    public JsonArray categoryTree() {
+        JsonArray tree = new JsonArray();
+        data.categories().stream().filter(category -> category.parent() == null).forEach(parent -> {
+            JsonObject node = toJson(parent);
+            JsonArray children = new JsonArray();
+            data.categories().stream()
+                    .filter(category -> parent.slug().equals(category.parent()))
+                    .forEach(child -> children.add(toJson(child)));
+            node.add("sub_categories", children);
+            tree.add(node);
+        });
+        return tree;
+    }
+
+    public JsonArray categoryList() {
+        JsonArray categories = new JsonArray();
+        data.categories().forEach(category -> categories.add(toJson(category)));
+        return categories;
+    }
+
+    public JsonArray brandList() {
+        JsonArray brands = new JsonArray();
+        data.brands().forEach(brand -> brands.add(toJson(brand)));
+        return brands;
+    }
+
+    public JsonObject toJson(Product product) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", product.id());
+        json.addProperty("name", product.name());
+        json.addProperty("description", product.description());
+        json.addProperty("price", product.price());
+        json.addProperty("is_location_offer", false);
+        json.addProperty("is_rental", false);
+        json.addProperty("in_stock", product.inStock());
+
+        JsonObject image = new JsonObject();
+        image.addProperty("id", product.id() + "-IMG");
+        image.addProperty("by_name", "Toolshop stub");
+        image.addProperty("by_url", "https://unsplash.com/");
+        image.addProperty("source_name", "Unsplash");
+        image.addProperty("source_url", "https://unsplash.com/");
+        image.addProperty("file_name", product.image());
+        image.addProperty("title", product.name());
+        json.add("product_image", image);
+
+        json.add("category", toJson(category(product)));
+        json.add("brand", toJson(brand(product)));
+        return json;
+    }
+
+    /**
+     * One page of items in the paging envelope of the real API, e.g. for /products or /invoices.
+     */
+    public static JsonObject page(List<JsonObject> items, int pageNumber, int total) {
+        int lastPage = Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+        int from = (pageNumber - 1) * PAGE_SIZE;
+
+        JsonObject page = new JsonObject();
+        page.addProperty("current_page", pageNumber);
+        JsonArray data = new JsonArray();
+        items.forEach(data::add);
+        page.add("data", data);
+        page.addProperty("from", from + 1);
+        page.addProperty("last_page", lastPage);
+        page.addProperty("per_page", PAGE_SIZE);
+        page.addProperty("to", from + items.size());
+        page.addProperty("total", total);
+        return page;
+    }
+
+    private JsonObject page(List<Product> matches, int pageNumber) {
+        List<JsonObject> items = matches.stream()
+                .skip((long) (pageNumber - 1) * PAGE_SIZE)
+                .limit(PAGE_SIZE)
+                .map(this::toJson)
+                .toList();
+        return page(items, pageNumber, matches.size());
+    }
+
+    private static int pageNumber(Map<String, String> query) {
+        return Math.max(1, Integer.parseInt(query.getOrDefault("page", "1")));
+    }
+
+    // The front end can repeat an id, e.g. by_category=a,a when a category is ticked twice
+    private static Set<String> idsIn(String ids) {
+        return Arrays.stream(ids.split(",")).collect(Collectors.toSet());
+    }
+
+    private static Comparator<Product> comparatorFor(String sort) {
+        Comparator<Product> comparator = switch (sort.split(",")[0]) {
+            case "name" -> Comparator.comparing(Product::name, String.CASE_INSENSITIVE_ORDER);
+            case "price" -> Comparator.comparingDouble(Product::price);
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sort);
+        };
+        return sort.endsWith(",desc") ? comparator.reversed() : comparator;
+    }
+
+    private Set<String> categorySlugsIncludingChildren(Set<String> categoryIds) {
+        Set<String> slugs = data.categories().stream()
+                .filter(category -> categoryIds.contains(category.id()))
+                .map(Category::slug)
+                .collect(Collectors.toSet());
+        data.categories().stream()
+                .filter(category -> slugs.contains(category.parent()))
+                .forEach(child -> slugs.add(child.slug()));
+        return slugs;
+    }
+
+    private Category category(Product product) {
+        return data.categories().stream()
+                .filter(category -> category.slug().equals(product.category()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown category " + product.category()));
+    }
+
+    private Brand brand(Product product) {
+        return data.brands().stream()
+                .filter(brand -> brand.slug().equals(product.brand()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown brand " + product.brand()));
+    }
+
+    private static JsonObject toJson(Category category) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", category.id());
+        json.addProperty("name", category.name());
+        json.addProperty("slug", category.slug());
+        return json;
+    }
+
+    private static JsonObject toJson(Brand brand) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", brand.id());
+        json.addProperty("name", brand.name());
+        json.addProperty("slug", brand.slug());
+        return json;
+    }
+}
@@ -0,0 +1,270 @@
+package com.serenitydojo.playwright.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The subset of the api.practicesoftwaretesting.com REST API that the tests and the stub front end use,
+ * served under /api.
+ */
+class StubApi implements HttpHandler {
+
+    private final Catalog catalog;
+    private final Map<String, Catalog.User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<String, Catalog.User> usersByToken = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Integer>> carts = new ConcurrentHashMap<>();
+    private final Map<String, List<JsonObject>> invoicesByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger invoiceCounter = new AtomicInteger();
+
+    StubApi(Catalog catalog) {
+        this.catalog = catalog;
+        catalog.users().forEach(user -> usersByEmail.put(user.email(), user));
+    }
+
+    private record Response(int status, JsonElement body) {}
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            response = route(exchange);
+        } catch (RuntimeException e) {
+            response = error(500, e.getMessage());
+        }
+        byte[] body = response.body().toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring("/api".length());
+        Map<String, String> query = queryParameters(exchange.getRequestURI().getRawQuery());
+
+        if (method.equals("GET") && path.equals("/products")) {
+            return ok(catalog.findProducts(query));
+        }
+        if (method.equals("GET") && path.equals("/products/search")) {
+            return ok(catalog.searchProducts(query));
+        }
+        if (method.equals("GET") && path.startsWith("/products/")) {
+            return catalog.product(path.substring("/products/".length()))
+                    .map(product -> ok(catalog.toJson(product)))
+                    .orElseGet(() -> error(404, "Requested item not found"));
+        }
+        if (method.equals("GET") && path.equals("/categories")) {
+            return ok(catalog.categoryList());
+        }
+        if (method.equals("GET") && path.equals("/categories/tree")) {
+            return ok(catalog.categoryTree());
+        }
+        if (method.equals("GET") && path.equals("/brands")) {
+            return ok(catalog.brandList());
+        }
+        if (method.equals("POST") && path.equals("/users/login")) {
+            return login(requestBody(exchange));
+        }
+        if (method.equals("POST") && path.equals("/users/register")) {
+            return register(requestBody(exchange));
+        }
+        if (method.equals("GET") && path.equals("/users/me")) {
+            return currentUser(exchange)
+                    .map(user -> ok(toJson(user)))
+                    .orElseGet(() -> error(401, "Unauthorized"));
+        }
+        if (method.equals("POST") && path.equals("/carts")) {
+            String id = UUID.randomUUID().toString();
+            carts.put(id, new ConcurrentHashMap<>());
+            JsonObject json = new JsonObject();
+            json.addProperty("id", id);
+            return new Response(201, json);
+        }
+        if (path.startsWith("/carts/")) {
+            String cartId = path.substring("/carts/".length());
+            if (!carts.containsKey(cartId)) {
+                return error(404, "Cart doesnt exists");
+            }
+            if (method.equals("POST")) {
+                return addToCart(cartId, requestBody(exchange));
+            }
+            if (method.equals("GET")) {
+                return ok(cartJson(cartId));
+            }
+        }
+        if (method.equals("POST") && path.equals("/invoices")) {
+            Optional<Catalog.User> user = currentUser(exchange);
+            return user.isPresent() ? createInvoice(user.get(), requestBody(exchange)) : error(401, "Unauthorized");
+        }
+        if (method.equals("GET") && path.equals("/invoices")) {
+            return currentUser(exchange)
+                    .map(user -> {
+                        List<JsonObject> invoices = invoicesByEmail.getOrDefault(user.email(), List.of());
+                        int page = pageNumber(query);
+                        List<JsonObject> onPage = invoices.stream()
+                                .skip((long) (page - 1) * Catalog.PAGE_SIZE)
+                                .limit(Catalog.PAGE_SIZE)
+                                .toList();
+                        return ok(Catalog.page(onPage, page, invoices.size()));
+                    })
+                    .orElseGet(() -> error(401, "Unauthorized"));
+        }
+        if (method.equals("POST") && path.equals("/messages")) {
+            JsonObject message = requestBody(exchange);
+            message.addProperty("id", UUID.randomUUID().toString());
+            message.addProperty("status", "NEW");
+            return new Response(200, message);
+        }
+        return error(404, "Resource not found");
+    }
+
+    private Response login(JsonObject credentials) {
+        Catalog.User user = usersByEmail.get(stringField(credentials, "email"));
+        if (user == null || !user.password().equals(stringField(credentials, "password"))) {
+            return error(401, "Unauthorized");
+        }
+        String token = "stub-" + UUID.randomUUID();
+        usersByToken.put(token, user);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("access_token", token);
+        json.addProperty("token_type", "bearer");
+        json.addProperty("expires_in", 300);
+        return ok(json);
+    }
+
+    private Response register(JsonObject details) {
+        String email = stringField(details, "email");
+        if (email.isBlank() || stringField(details, "password").isBlank()) {
+            return error(422, "Email and password are required");
+        }
+        Catalog.User user = new Catalog.User(stringField(details, "first_name"), stringField(details, "last_name"),
+                email, stringField(details, "password"), "user");
+        if (usersByEmail.putIfAbsent(email, user) != null) {
+            return error(422, "A customer with this email address already exists.");
+        }
+        return new Response(201, toJson(user));
+    }
+
+    private Response addToCart(String cartId, JsonObject item) {
+        String productId = stringField(item, "product_id");
+        if (catalog.product(productId).isEmpty()) {
+            return error(422, "The selected product id is invalid.");
+        }
+        int quantity = item.has("quantity") ? item.get("quantity").getAsInt() : 1;
+        carts.get(cartId).merge(productId, quantity, Integer::sum);
+        JsonObject json = new JsonObject();
+        json.addProperty("result", "item added or updated");
+        return ok(json);
+    }
+
+    private JsonObject cartJson(String cartId) {
+        JsonArray items = new JsonArray();
+        carts.get(cartId).forEach((productId, quantity) -> {
+            JsonObject item = new JsonObject();
+            item.addProperty("product_id", productId);
+            item.addProperty("quantity", quantity);
+            item.add("product", catalog.toJson(catalog.product(productId).orElseThrow()));
+            items.add(item);
+        });
+        JsonObject json = new JsonObject();
+        json.addProperty("id", cartId);
+        json.add("cart_items", items);
+        return json;
+    }
+
+    private Response createInvoice(Catalog.User user, JsonObject details) {
+        Map<String, Integer> cart = carts.remove(stringField(details, "cart_id"));
+        if (cart == null || cart.isEmpty()) {
+            return error(422, "The cart is empty or does not exist.");
+        }
+        double total = cart.entrySet().stream()
+                .mapToDouble(line -> catalog.product(line.getKey()).orElseThrow().price() * line.getValue())
+                .sum();
+        JsonObject invoice = new JsonObject();
+        invoice.addProperty("id", UUID.randomUUID().toString());
+        invoice.addProperty("invoice_number", String.format("INV-%07d", invoiceCounter.incrementAndGet()));
+        invoice.addProperty("total", Math.round(total * 100) / 100.0);
+        invoice.addProperty("status", "AWAITING_FULFILLMENT");
+        invoice.addProperty("billing_city", stringField(details, "billing_city"));
+        invoice.addProperty("billing_country", stringField(details, "billing_country"));
+        invoicesByEmail.computeIfAbsent(user.email(), email -> new CopyOnWriteArrayList<>()).add(invoice);
+        return new Response(201, invoice);
+    }
+
+    private static int pageNumber(Map<String, String> query) {
+        return Math.max(1, Integer.parseInt(query.getOrDefault("page", "1")));
+    }
+
+    private Optional<Catalog.User> currentUser(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(usersByToken.get(authorization.substring("Bearer ".length())));
+    }
+
+    private static JsonObject toJson(Catalog.User user) {
+        JsonObject json = new JsonObject();
+        json.addProperty("first_name", user.firstName());
+        json.addProperty("last_name", user.lastName());
+        json.addProperty("email", user.email());
+        json.addProperty("role", user.role());
+        return json;
+    }
+
+    private static Response ok(JsonElement body) {
+        return new Response(200, body);
+    }
+
+    private static Response error(int status, String message) {
+        JsonObject body = new JsonObject();
+        body.addProperty("message", message);
+        return new Response(status, body);
+    }
+
+    private static String stringField(JsonObject json, String field) {
+        return json.has(field) && !json.get(field).isJsonNull() ? json.get(field).getAsString() : "";
+    }
+
+    private static JsonObject requestBody(HttpExchange exchange) throws IOException {
+        try (var reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonElement body = JsonParser.parseReader(reader);
+            return body.isJsonObject() ? body.getAsJsonObject() : new JsonObject();
+        }
+    }
+
+    static Map<String, String> queryParameters(String rawQuery) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+}
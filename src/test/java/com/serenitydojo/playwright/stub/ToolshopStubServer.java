@@ -0,0 +1,106 @@
+package com.serenitydojo.playwright.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * An in-process stand-in for practicesoftwaretesting.com, so the suite can run without network access.
+ * The front end is served from /, the REST API from /api and product images from /images.
+ */
+public class ToolshopStubServer implements AutoCloseable {
+
+    private static final Map<String, String> ASSETS = Map.of(
+            "/assets/app.js", "application/javascript",
+            "/assets/app.css", "text/css");
+
+    private static ToolshopStubServer sharedInstance;
+
+    private final HttpServer server;
+
+    private ToolshopStubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts a server on the given port (0 picks a free one).
+     */
+    public static ToolshopStubServer start(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+            server.createContext("/api/", new StubApi(Catalog.load()));
+            server.createContext("/images/", ToolshopStubServer::serveImage);
+            server.createContext("/", ToolshopStubServer::serveFrontEnd);
+            server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "toolshop-stub");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+            return new ToolshopStubServer(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the Toolshop stub server", e);
+        }
+    }
+
+    /**
+     * The server shared by the whole test run. It is started on first use and stopped when the JVM exits.
+     */
+    public static synchronized ToolshopStubServer shared() {
+        if (sharedInstance == null) {
+            sharedInstance = start(Integer.getInteger("toolshop.stub.port", 0));
+            Runtime.getRuntime().addShutdownHook(new Thread(sharedInstance::close, "toolshop-stub-shutdown"));
+        }
+        return sharedInstance;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String apiUrl() {
+        return baseUrl() + "/api";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void serveFrontEnd(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String contentType = ASSETS.getOrDefault(path, "text/html");
+        // Every page is rendered client-side, so anything that isn't an asset gets the index page
+        String resource = ASSETS.containsKey(path) ? path.substring("/assets".length()) : "/index.html";
+        try (InputStream content = ToolshopStubServer.class.getResourceAsStream("/toolshop-stub" + resource)) {
+            send(exchange, 200, contentType + "; charset=utf-8", content.readAllBytes());
+        }
+    }
+
+    private static void serveImage(HttpExchange exchange) throws IOException {
+        String fileName = exchange.getRequestURI().getPath().substring("/images/".length());
+        String svg = """
+                <svg xmlns="http://www.w3.org/2000/svg" width="320" height="240" viewBox="0 0 320 240">
+                  <rect width="320" height="240" fill="#e9ecef"/>
+                  <text x="160" y="125" font-size="18" text-anchor="middle" fill="#6c757d">%s</text>
+                </svg>
+                """.formatted(fileName.replaceAll("[^\\w.-]", ""));
+        send(exchange, 200, "image/svg+xml", svg.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.serenitydojo.playwright.stub;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToolshopStubServerTest {
+
+    static ToolshopStubServer server;
+    static HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startServer() {
+        server = ToolshopStubServer.start(0);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    static HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(server.baseUrl() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    static HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(server.baseUrl() + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    static JsonObject json(HttpResponse<String> response) {
+        return JsonParser.parseString(response.body()).getAsJsonObject();
+    }
+
+    static List<String> productNames(JsonObject page) {
+        return page.getAsJsonArray("data").asList().stream()
+                .map(product -> product.getAsJsonObject().get("name").getAsString())
+                .toList();
+    }
+
+    @DisplayName("Serving the front end")
+    @Nested
+    class ServingTheFrontEnd {
+
+        @Test
+        void servesTheIndexPageForEveryRoute() throws Exception {
+            var response = get("/contact");
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("<title>Practice Software Testing - Toolshop - v5.0</title>");
+        }
+
+        @Test
+        void servesProductImages() throws Exception {
+            var response = get("/images/pliers01.avif");
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValue("image/svg+xml");
+        }
+    }
+
+    @DisplayName("Serving the product API")
+    @Nested
+    class ServingTheProductApi {
+
+        @Test
+        void returnsTheFirstPageOfProducts() throws Exception {
+            var page = json(get("/api/products"));
+
+            assertThat(page.get("current_page").getAsInt()).isEqualTo(1);
+            assertThat(page.get("per_page").getAsInt()).isEqualTo(9);
+            assertThat(productNames(page)).hasSize(9).contains("Pliers", "Bolt Cutters", "Hammer");
+        }
+
+        @Test
+        void returnsProductsInTheSameShapeAsTheRealApi() throws Exception {
+            var product = json(get("/api/products")).getAsJsonArray("data").get(0).getAsJsonObject();
+
+            assertThat(product.keySet()).contains("id", "name", "description", "price", "is_location_offer",
+                    "is_rental", "in_stock", "product_image");
+            assertThat(product.getAsJsonObject("product_image").get("file_name").getAsString()).endsWith(".avif");
+        }
+
+        @Test
+        void sortsProductsByDescendingPrice() throws Exception {
+            var prices = json(get("/api/products?sort=price,desc")).getAsJsonArray("data").asList().stream()
+                    .map(product -> product.getAsJsonObject().get("price").getAsDouble())
+                    .toList();
+
+            assertThat(prices).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        }
+
+        @Test
+        void searchesProductsByName() throws Exception {
+            var page = json(get("/api/products/search?q=pliers"));
+
+            assertThat(productNames(page)).isNotEmpty().allMatch(name -> name.contains("Pliers"));
+        }
+
+        @Test
+        void filtersByParentCategory() throws Exception {
+            var powerTools = JsonParser.parseString(get("/api/categories/tree").body()).getAsJsonArray().asList().stream()
+                    .map(category -> category.getAsJsonObject())
+                    .filter(category -> category.get("slug").getAsString().equals("power-tools"))
+                    .findFirst()
+                    .orElseThrow();
+
+            var page = json(get("/api/products?by_category=" + powerTools.get("id").getAsString()));
+
+            assertThat(productNames(page)).contains("Sheet Sander", "Belt Sander");
+        }
+
+        @Test
+        void ignoresRepeatedFilterIds() throws Exception {
+            var brand = JsonParser.parseString(get("/api/brands").body()).getAsJsonArray().get(0).getAsJsonObject();
+            String id = brand.get("id").getAsString();
+
+            HttpResponse<String> response = get("/api/products?by_brand=" + id + "," + id);
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(json(response).get("total").getAsInt()).isEqualTo(json(get("/api/products?by_brand=" + id)).get("total").getAsInt());
+        }
+    }
+
+    @DisplayName("Serving the authentication API")
+    @Nested
+    class ServingTheAuthenticationApi {
+
+        @Test
+        void acceptsAKnownCustomer() throws Exception {
+            var response = post("/api/users/login", """
+                    {"email": "customer@practicesoftwaretesting.com", "password": "welcome01"}
+                    """);
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(json(response).get("access_token").getAsString()).isNotBlank();
+        }
+
+        @Test
+        void rejectsAnUnknownCustomer() throws Exception {
+            var response = post("/api/users/login", """
+                    {"email": "nobody@example.com", "password": "secret"}
+                    """);
+
+            assertThat(response.statusCode()).isEqualTo(401);
+        }
+
+        @Test
+        void registersANewCustomerOnlyOnce() throws Exception {
+            var newCustomer = """
+                    {"first_name": "Sarah-Jane", "last_name": "Smith", "email": "sarah-jane@example.com", "password": "Az123456$"}
+                    """;
+
+            assertThat(post("/api/users/register", newCustomer).statusCode()).isEqualTo(201);
+            assertThat(post("/api/users/register", newCustomer).statusCode()).isEqualTo(422);
+        }
+    }
+
+    @DisplayName("Serving the cart and order API")
+    @Nested
+    class ServingTheCartApi {
+
+        @Test
+        void addsProductsToACart() throws Exception {
+            String cartId = json(post("/api/carts", "{}")).get("id").getAsString();
+            String productId = json(get("/api/products")).getAsJsonArray("data").get(0).getAsJsonObject().get("id").getAsString();
+
+            post("/api/carts/" + cartId, "{\"product_id\": \"" + productId + "\", \"quantity\": 2}");
+            post("/api/carts/" + cartId, "{\"product_id\": \"" + productId + "\", \"quantity\": 1}");
+
+            var items = json(get("/api/carts/" + cartId)).getAsJsonArray("cart_items");
+            assertThat(items).hasSize(1);
+            assertThat(items.get(0).getAsJsonObject().get("quantity").getAsInt()).isEqualTo(3);
+        }
+
+        @Test
+        void turnsACartIntoAnInvoiceForALoggedInCustomer() throws Exception {
+            String token = json(post("/api/users/login", """
+                    {"email": "customer@practicesoftwaretesting.com", "password": "welcome01"}
+                    """)).get("access_token").getAsString();
+            String cartId = json(post("/api/carts", "{}")).get("id").getAsString();
+            var product = json(get("/api/products")).getAsJsonArray("data").get(0).getAsJsonObject();
+            post("/api/carts/" + cartId, "{\"product_id\": \"" + product.get("id").getAsString() + "\", \"quantity\": 2}");
+
+            var response = client.send(HttpRequest.newBuilder(URI.create(server.baseUrl() + "/api/invoices"))
+                            .header("Content-Type", "application/json")
+                            .header("Authorization", "Bearer " + token)
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"cart_id\": \"" + cartId + "\"}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(201);
+            assertThat(json(response).get("total").getAsDouble()).isEqualTo(product.get("price").getAsDouble() * 2);
+            assertThat(get("/api/carts/" + cartId).statusCode()).isEqualTo(404);
+        }
+    }
+}
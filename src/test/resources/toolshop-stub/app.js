@@ -0,0 +1,438 @@
+// A small stand-in for the Toolshop front end at practicesoftwaretesting.com.
+// It reproduces the markup and data-test attributes that the test suite relies on,
+// and talks to the stub API served under /api by ToolshopStubServer.
+(function () {
+    'use strict';
+
+    const API = '/api';
+    const app = document.getElementById('app');
+
+    function escapeHtml(value) {
+        return String(value)
+            .replace(/&/g, '&amp;')
+            .replace(/</g, '&lt;')
+            .replace(/>/g, '&gt;')
+            .replace(/"/g, '&quot;');
+    }
+
+    function authHeaders() {
+        const token = localStorage.getItem('auth-token');
+        return token ? {'Authorization': 'Bearer ' + token} : {};
+    }
+
+    async function getJson(path) {
+        const response = await fetch(API + path, {headers: authHeaders()});
+        return {status: response.status, body: await response.json()};
+    }
+
+    async function postJson(path, body) {
+        const response = await fetch(API + path, {
+            method: 'POST',
+            headers: Object.assign({'Content-Type': 'application/json'}, authHeaders()),
+            body: JSON.stringify(body)
+        });
+        return {status: response.status, body: await response.json()};
+    }
+
+    function price(value) {
+        return '$' + Number(value).toFixed(2);
+    }
+
+    // Navigation bar
+
+    const categoriesMenu = document.querySelector('.dropdown-menu');
+    document.querySelector('.dropdown-toggle').addEventListener('click', event => {
+        event.preventDefault();
+        categoriesMenu.classList.toggle('show');
+    });
+
+    // Product catalogue (home page and category pages)
+
+    function productCard(product) {
+        return `
+            <a class="card" href="/product/${product.id}" data-test="product-${product.id}">
+                <div class="card-img-wrapper">
+                    <img class="card-img-top" src="/images/${escapeHtml(product.product_image.file_name)}" alt="${escapeHtml(product.name)}">
+                </div>
+                <div class="card-body">
+                    <h5 class="card-title" data-test="product-name">${escapeHtml(product.name)}</h5>
+                </div>
+                <div class="card-footer">
+                    ${product.in_stock ? '' : '<span class="badge" data-test="out-of-stock">Out of stock</span>'}
+                    <span class="float-end"><span data-test="product-price">${price(product.price)}</span></span>
+                </div>
+            </a>`;
+    }
+
+    function pageLink(label, page, enabled, active) {
+        return `<li class="page-item${enabled ? '' : ' disabled'}${active ? ' active' : ''}">
+                    <a class="page-link" data-page="${page}" aria-label="${label}">${label}</a>
+                </li>`;
+    }
+
+    function categoryCheckboxes(categories) {
+        return categories.map(category => `
+            <li>
+                <label><input type="checkbox" name="category_id" value="${category.id}" data-test="category-${category.id}"> ${escapeHtml(category.name)}</label>
+                <ul>${categoryCheckboxes(category.sub_categories || [])}</ul>
+            </li>`).join('');
+    }
+
+    async function cataloguePage(categorySlug) {
+        const [tree, brands] = await Promise.all([getJson('/categories/tree'), getJson('/brands')]);
+        const state = {page: 1, sort: '', query: '', categories: [], brands: []};
+
+        if (categorySlug) {
+            const category = tree.body.find(c => c.slug === categorySlug);
+            if (category) {
+                state.categories = [category.id];
+            }
+        }
+
+        app.innerHTML = `
+            <div class="row">
+                <div class="col-md-3">
+                    <h4>Sort</h4>
+                    <select class="form-select" data-test="sort" aria-label="sort">
+                        <option value=""></option>
+                        <option value="name,asc">Name (A - Z)</option>
+                        <option value="name,desc">Name (Z - A)</option>
+                        <option value="price,desc">Price (High - Low)</option>
+                        <option value="price,asc">Price (Low - High)</option>
+                    </select>
+                    <h4>Search</h4>
+                    <form data-test="search-form">
+                        <input class="form-control" id="search-query" data-test="search-query" placeholder="Search">
+                        <button type="button" data-test="search-reset">X</button>
+                        <button type="submit" data-test="search-submit">Search</button>
+                    </form>
+                    <h4>Filters</h4>
+                    <div data-test="filters">
+                        <h4>By category:</h4>
+                        <ul class="categories">${categoryCheckboxes(tree.body)}</ul>
+                        <h4>By brand:</h4>
+                        <ul class="brands">${brands.body.map(brand => `
+                            <li><label><input type="checkbox" name="brand_id" value="${brand.id}" data-test="brand-${brand.id}"> ${escapeHtml(brand.name)}</label></li>`).join('')}
+                        </ul>
+                    </div>
+                </div>
+                <div class="col-md-9">
+                    <h3 data-test="search-caption" hidden></h3>
+                    <div class="grid" data-test="product-grid"></div>
+                    <div data-test="no-results" hidden>There are no products found.</div>
+                    <nav><ul class="pagination"></ul></nav>
+                </div>
+            </div>`;
+
+        const grid = app.querySelector('[data-test=product-grid]');
+        const noResults = app.querySelector('[data-test=no-results]');
+        const pagination = app.querySelector('.pagination');
+        const caption = app.querySelector('[data-test=search-caption]');
+        const searchQuery = app.querySelector('#search-query');
+
+        async function load() {
+            let path;
+            if (state.query) {
+                path = '/products/search?q=' + encodeURIComponent(state.query.toLowerCase());
+            } else {
+                const params = [];
+                if (state.sort) params.push('sort=' + state.sort);
+                if (state.categories.length) params.push('by_category=' + state.categories.join(','));
+                if (state.brands.length) params.push('by_brand=' + state.brands.join(','));
+                path = '/products' + (params.length ? '?' + params.join('&') : '');
+            }
+            if (state.page > 1) {
+                path += (path.includes('?') ? '&' : '?') + 'page=' + state.page;
+            }
+
+            const result = (await getJson(path)).body;
+            grid.innerHTML = result.data.map(productCard).join('');
+            noResults.hidden = result.data.length > 0;
+
+            const pages = [];
+            pages.push(pageLink('«', result.current_page - 1, result.current_page > 1, false));
+            for (let page = 1; page <= result.last_page; page++) {
+                pages.push(pageLink(page, page, true, page === result.current_page));
+            }
+            pages.push(pageLink('»', result.current_page + 1, result.current_page < result.last_page, false));
+            pagination.innerHTML = result.last_page > 1 ? pages.join('') : '';
+        }
+
+        pagination.addEventListener('click', event => {
+            const link = event.target.closest('.page-link');
+            if (link && !link.parentElement.classList.contains('disabled')) {
+                state.page = Number(link.dataset.page);
+                load();
+            }
+        });
+
+        app.querySelector('[data-test=sort]').addEventListener('change', event => {
+            state.sort = event.target.value;
+            state.page = 1;
+            load();
+        });
+
+        app.querySelector('[data-test=search-form]').addEventListener('submit', event => {
+            event.preventDefault();
+            state.query = searchQuery.value.trim();
+            state.page = 1;
+            caption.hidden = !state.query;
+            caption.innerHTML = `Searched for: <span data-test="search-term">${escapeHtml(state.query)}</span>`;
+            load();
+        });
+
+        app.querySelector('[data-test=search-reset]').addEventListener('click', () => {
+            searchQuery.value = '';
+            state.query = '';
+            state.page = 1;
+            caption.hidden = true;
+            load();
+        });
+
+        app.querySelector('[data-test=filters]').addEventListener('change', () => {
+            const checked = name => [...app.querySelectorAll(`input[name=${name}]:checked`)].map(input => input.value);
+            state.categories = checked('category_id');
+            state.brands = checked('brand_id');
+            state.page = 1;
+            load();
+        });
+
+        await load();
+    }
+
+    async function productPage(id) {
+        const result = await getJson('/products/' + encodeURIComponent(id));
+        if (result.status !== 200) {
+            app.innerHTML = '<h1 data-test="page-title">Product not found</h1>';
+            return;
+        }
+        const product = result.body;
+        app.innerHTML = `
+            <div class="row">
+                <div class="col-md-3">
+                    <img class="figure-img" src="/images/${escapeHtml(product.product_image.file_name)}" alt="${escapeHtml(product.name)}">
+                </div>
+                <div class="col-md-9">
+                    <h1 data-test="product-name">${escapeHtml(product.name)}</h1>
+                    <p>
+                        <span class="badge" aria-label="category">${escapeHtml(product.category.name)}</span>
+                        <span class="badge" aria-label="brand">${escapeHtml(product.brand.name)}</span>
+                    </p>
+                    <p><span data-test="unit-price">${Number(product.price).toFixed(2)}</span></p>
+                    <p data-test="product-description">${escapeHtml(product.description)}</p>
+                    ${product.in_stock ? '' : '<p data-test="out-of-stock">Out of stock</p>'}
+                </div>
+            </div>`;
+    }
+
+    // Forms
+
+    function showError(form, field, message) {
+        const input = form.querySelector(`[data-test=${field}]`);
+        const error = document.createElement('div');
+        error.className = 'alert alert-danger';
+        error.setAttribute('role', 'alert');
+        error.dataset.test = field + '-error';
+        error.textContent = message;
+        // Errors that don't belong to a single field (such as a failed login) go at the end of the form
+        (input ? input.closest('.form-group') : form).appendChild(error);
+    }
+
+    function clearErrors(form) {
+        form.querySelectorAll('[data-test$=-error]').forEach(error => error.remove());
+    }
+
+    function formGroup(label, id, field, input) {
+        return `<div class="form-group">
+                    <label for="${id}">${label}</label>
+                    ${input.replace('<input', `<input id="${id}" data-test="${field}"`)
+                           .replace('<select', `<select id="${id}" data-test="${field}"`)
+                           .replace('<textarea', `<textarea id="${id}" data-test="${field}"`)}
+                </div>`;
+    }
+
+    function contactPage() {
+        app.innerHTML = `
+            <h3>Contact</h3>
+            <form data-test="contact-form" novalidate>
+                ${formGroup('First name', 'first_name', 'first-name', '<input type="text" placeholder="Your first name *">')}
+                ${formGroup('Last name', 'last_name', 'last-name', '<input type="text" placeholder="Your last name *">')}
+                ${formGroup('Email address', 'email', 'email', '<input type="email" placeholder="Your email *">')}
+                ${formGroup('Subject', 'subject', 'subject', `<select>
+                    <option value="">Select a subject</option>
+                    <option value="customer-service">Customer service</option>
+                    <option value="webmaster">Webmaster</option>
+                    <option value="return">Return</option>
+                    <option value="payments">Payments</option>
+                    <option value="warranty">Warranty</option>
+                    <option value="status-of-order">Status of my order</option>
+                </select>`)}
+                ${formGroup('Message *', 'message', 'message', '<textarea rows="5"></textarea>')}
+                ${formGroup('Attachment', 'attachment', 'attachment', '<input type="file">')}
+                <input type="submit" class="btnSubmit" data-test="contact-submit" value="Send">
+            </form>`;
+
+        const form = app.querySelector('form');
+        form.addEventListener('submit', async event => {
+            event.preventDefault();
+            clearErrors(form);
+            const value = field => form.querySelector(`[data-test=${field}]`).value.trim();
+            const required = {
+                'first-name': 'First name is required',
+                'last-name': 'Last name is required',
+                'email': 'Email is required',
+                'subject': 'Subject is required',
+                'message': 'Message is required'
+            };
+            let valid = true;
+            for (const [field, message] of Object.entries(required)) {
+                if (!value(field)) {
+                    showError(form, field, message);
+                    valid = false;
+                }
+            }
+            if (!valid) {
+                return;
+            }
+            await postJson('/messages', {
+                name: value('first-name') + ' ' + value('last-name'),
+                email: value('email'),
+                subject: value('subject'),
+                message: value('message')
+            });
+            form.outerHTML = '<div class="alert alert-success" role="alert">Thanks for your message! We will contact you shortly.</div>';
+        });
+    }
+
+    function loginPage() {
+        app.innerHTML = `
+            <h3>Login</h3>
+            <form data-test="login-form" novalidate>
+                ${formGroup('Email address *', 'email', 'email', '<input type="email" placeholder="Your email">')}
+                ${formGroup('Password *', 'password', 'password', '<input type="password" placeholder="Your password">')}
+                <div class="form-group">
+                    <input type="submit" class="btnSubmit" data-test="login-submit" value="Login">
+                </div>
+            </form>
+            <p><a href="/auth/register" data-test="register-link">Register your account</a></p>`;
+
+        const form = app.querySelector('form');
+        form.addEventListener('submit', async event => {
+            event.preventDefault();
+            clearErrors(form);
+            const email = form.querySelector('[data-test=email]').value.trim();
+            const password = form.querySelector('[data-test=password]').value;
+            if (!email) showError(form, 'email', 'Email is required');
+            if (!password) showError(form, 'password', 'Password is required');
+            if (!email || !password) {
+                return;
+            }
+            const result = await postJson('/users/login', {email: email, password: password});
+            if (result.status !== 200) {
+                showError(form, 'login', 'Invalid email or password');
+                return;
+            }
+            localStorage.setItem('auth-token', result.body.access_token);
+            location.href = '/account';
+        });
+    }
+
+    function registerPage() {
+        const countries = {'': 'Your country *', 'NL': 'Netherlands', 'RS': 'Serbia', 'GB': 'United Kingdom', 'US': 'United States of America'};
+        app.innerHTML = `
+            <h3>Customer registration</h3>
+            <form data-test="register-form" novalidate>
+                ${formGroup('First name', 'first_name', 'first-name', '<input type="text" placeholder="First name *">')}
+                ${formGroup('Last name', 'last_name', 'last-name', '<input type="text" placeholder="Your last name *">')}
+                ${formGroup('Date of Birth *', 'dob', 'dob', '<input type="date" placeholder="YYYY-MM-DD">')}
+                ${formGroup('Street', 'street', 'street', '<input type="text" placeholder="Your Street *">')}
+                ${formGroup('Postal code', 'postal_code', 'postal_code', '<input type="text" placeholder="Your Postcode *">')}
+                ${formGroup('City', 'city', 'city', '<input type="text" placeholder="Your City *">')}
+                ${formGroup('State', 'state', 'state', '<input type="text" placeholder="Your State *">')}
+                ${formGroup('Country', 'country', 'country', `<select>${Object.entries(countries)
+                    .map(([code, name]) => `<option value="${code}">${name}</option>`).join('')}</select>`)}
+                ${formGroup('Phone', 'phone', 'phone', '<input type="text" placeholder="Your phone *">')}
+                ${formGroup('Email address', 'email', 'email', '<input type="email" placeholder="Your email *">')}
+                ${formGroup('Password', 'password', 'password', '<input type="password" placeholder="Your password">')}
+                <div class="form-group">
+                    <button type="submit" class="btnSubmit" data-test="register-submit">Register</button>
+                </div>
+            </form>`;
+
+        const form = app.querySelector('form');
+        form.addEventListener('submit', async event => {
+            event.preventDefault();
+            clearErrors(form);
+            const value = field => form.querySelector(`[data-test=${field}]`).value.trim();
+            const required = {
+                'first-name': 'First name is required',
+                'last-name': 'Last name is required',
+                'dob': 'Date of Birth is required',
+                'street': 'Street is required',
+                'postal_code': 'Postcode is required',
+                'city': 'City is required',
+                'state': 'State is required',
+                'country': 'Country is required',
+                'phone': 'Phone is required.',
+                'email': 'Email is required',
+                'password': 'Password is required  Password must be minimal 6 characters long.  Password can not include invalid characters.'
+            };
+            let valid = true;
+            for (const [field, message] of Object.entries(required)) {
+                if (!value(field)) {
+                    showError(form, field, message);
+                    valid = false;
+                }
+            }
+            if (valid && value('password').length < 6) {
+                showError(form, 'password', 'Password must be minimal 6 characters long.');
+                valid = false;
+            }
+            if (!valid) {
+                return;
+            }
+            const result = await postJson('/users/register', {
+                first_name: value('first-name'),
+                last_name: value('last-name'),
+                dob: value('dob'),
+                address: {street: value('street'), postal_code: value('postal_code'), city: value('city'), state: value('state'), country: value('country')},
+                phone: value('phone'),
+                email: value('email'),
+                password: value('password')
+            });
+            if (result.status !== 201) {
+                showError(form, 'register-submit', 'A customer with this email address already exists.');
+                return;
+            }
+            location.href = '/auth/login';
+        });
+    }
+
+    async function accountPage() {
+        const result = await getJson('/users/me');
+        if (result.status !== 200) {
+            location.href = '/auth/login';
+            return;
+        }
+        app.innerHTML = `
+            <h1 data-test="page-title">My account</h1>
+            <p>Here you can manage your profile, favorites and orders.</p>
+            <p data-test="nav-menu">${escapeHtml(result.body.first_name + ' ' + result.body.last_name)}</p>`;
+    }
+
+    // Routing
+
+    function route(path) {
+        let match;
+        if (path === '/' || path === '') return cataloguePage(null);
+        if ((match = path.match(/^\/category\/([\w-]+)$/))) return cataloguePage(match[1]);
+        if ((match = path.match(/^\/product\/([\w-]+)$/))) return productPage(match[1]);
+        if (path === '/contact') return contactPage();
+        if (path === '/auth/login') return loginPage();
+        if (path === '/auth/register') return registerPage();
+        if (path === '/account') return accountPage();
+        app.innerHTML = '<h1 data-test="page-title">Page not found</h1>';
+    }
+
+    route(location.pathname.replace(/\/$/, '') || '/');
+})();